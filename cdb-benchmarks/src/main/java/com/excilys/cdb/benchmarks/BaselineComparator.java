@@ -0,0 +1,106 @@
+package com.excilys.cdb.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Compare the JSON results of two benchmark runs, typically the baseline of the previous release
+ * and the current build:
+ *
+ * <pre>
+ * java -cp cdb-benchmarks/target/benchmarks.jar com.excilys.cdb.benchmarks.BaselineComparator \
+ *     baseline.json current.json [threshold %]
+ * </pre>
+ *
+ * <p>Every benchmark, with its parameters, is printed with its change. The exit status is 1 when
+ * one of them is slower than the baseline by more than the threshold, 10% by default, so that a
+ * build can fail on it.
+ *
+ * @author Aurelien.R
+ */
+public class BaselineComparator {
+
+  // Constants
+  private static final double DEFAULT_THRESHOLD = 10;
+  private static final String THROUGHPUT = "thrpt";
+
+  /**
+   * Print the comparison of two result files.
+   *
+   * @param args baseline file, current file and optional threshold in percent
+   * @throws IOException if a file cannot be read
+   */
+  public static void main(String[] args) throws IOException {
+
+    if (args.length < 2) {
+      System.err.println("Usage: BaselineComparator <baseline.json> <current.json> [threshold %]");
+      System.exit(2);
+    }
+    Map<String, JsonNode> baseline = read(args[0]);
+    Map<String, JsonNode> current = read(args[1]);
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+    int regressions = 0;
+    for (Entry<String, JsonNode> entry : current.entrySet()) {
+      JsonNode result = entry.getValue();
+      double score = result.path("primaryMetric").path("score").asDouble();
+      String unit = result.path("primaryMetric").path("scoreUnit").asText();
+      JsonNode previous = baseline.get(entry.getKey());
+      if (previous == null) {
+        System.out.printf("%-90s %12s %12.3f %s new%n", entry.getKey(), "-", score, unit);
+        continue;
+      }
+
+      double previousScore = previous.path("primaryMetric").path("score").asDouble();
+      double change = (score - previousScore) / previousScore * 100;
+      // Higher is better for throughputs, lower for times
+      boolean regression = THROUGHPUT.equals(result.path("mode").asText()) ? change < -threshold
+          : change > threshold;
+      if (regression) {
+        regressions++;
+      }
+      System.out.printf("%-90s %12.3f %12.3f %s %+7.1f%%%s%n", entry.getKey(), previousScore,
+          score, unit, change, regression ? " REGRESSION" : "");
+    }
+    for (String key : baseline.keySet()) {
+      if (!current.containsKey(key)) {
+        System.out.printf("%-90s removed%n", key);
+      }
+    }
+
+    System.out.printf("%d regression(s) over %.1f%%%n", regressions, threshold);
+    System.exit(regressions > 0 ? 1 : 0);
+  }
+
+  /**
+   * Read the results of a run, by benchmark and parameters.
+   */
+  private static Map<String, JsonNode> read(String file) throws IOException {
+    Map<String, JsonNode> results = new TreeMap<>();
+    for (JsonNode result : new ObjectMapper().readTree(new File(file))) {
+      results.put(keyOf(result), result);
+    }
+    return results;
+  }
+
+  private static String keyOf(JsonNode result) {
+    StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+    Map<String, String> params = new TreeMap<>();
+    Iterator<Entry<String, JsonNode>> fields = result.path("params").fields();
+    while (fields.hasNext()) {
+      Entry<String, JsonNode> field = fields.next();
+      params.put(field.getKey(), field.getValue().asText());
+    }
+    for (Entry<String, String> param : params.entrySet()) {
+      key.append(' ').append(param.getKey()).append('=').append(param.getValue());
+    }
+    return key.toString();
+  }
+}
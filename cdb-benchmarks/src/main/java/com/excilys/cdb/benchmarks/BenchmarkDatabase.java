@@ -0,0 +1,103 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.daos.generator.CatalogGenerator;
+import com.excilys.cdb.daos.generator.CatalogJdbcLoader;
+import com.excilys.cdb.services.search.ComputerSearchIndex;
+
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Service context of the benchmarks, on the in memory H2 database of properties/dao.properties
+ * filled with a catalog of a given number of computers. The catalog is generated from a fixed
+ * seed, so two runs measure the same data.
+ *
+ * @author Aurelien.R
+ */
+public class BenchmarkDatabase {
+
+  // Constants
+  public static final int COMPUTERS_PER_COMPANY = 100;
+  private static final String CONTEXT = "classpath:/spring/service-context.xml";
+  private static final String SEARCH_INDEX_PROPERTY = "search.index.enabled";
+  private static final long SEARCH_INDEX_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+
+  // Methods
+  /**
+   * Start a service context on a database of the given number of computers.
+   *
+   * @param computers number of computers
+   * @param searchIndex whether the search index is enabled, and built before returning
+   * @return the started context
+   * @throws SQLException if the rows cannot be inserted
+   */
+  public static ClassPathXmlApplicationContext start(int computers, boolean searchIndex)
+      throws SQLException {
+
+    // The schema is generated by a first context, the search index built by the second one
+    System.setProperty(SEARCH_INDEX_PROPERTY, "false");
+    try (ClassPathXmlApplicationContext loading = new ClassPathXmlApplicationContext(CONTEXT)) {
+      load(loading.getBean("dataSource", DataSource.class), computers);
+    }
+
+    System.setProperty(SEARCH_INDEX_PROPERTY, Boolean.toString(searchIndex));
+    ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext(CONTEXT);
+    if (searchIndex) {
+      awaitSearchIndex(context.getBean(ComputerSearchIndex.class),
+          catalog(computers).computer(1).getName());
+    }
+    return context;
+  }
+
+  /**
+   * Catalog of the given number of computers, one company for COMPUTERS_PER_COMPANY computers.
+   *
+   * @param computers number of computers
+   * @return the catalog
+   */
+  public static CatalogGenerator catalog(int computers) {
+    return new CatalogGenerator(CatalogGenerator.DEFAULT_SEED,
+        Math.max(1, computers / COMPUTERS_PER_COMPANY), computers);
+  }
+
+  /**
+   * Replace the companies and computers of the database by the generated ones.
+   *
+   * @param dataSource database to fill
+   * @param computers number of computers
+   * @throws SQLException if the rows cannot be inserted
+   */
+  public static void load(DataSource dataSource, int computers) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.executeUpdate("DELETE FROM computer");
+      statement.executeUpdate("DELETE FROM company");
+    }
+    new CatalogJdbcLoader(catalog(computers), dataSource).load();
+  }
+
+  /**
+   * Wait for the search index, built in background at startup, to answer searches.
+   */
+  private static void awaitSearchIndex(ComputerSearchIndex searchIndex, String search) {
+    long deadline = System.currentTimeMillis() + SEARCH_INDEX_TIMEOUT_MS;
+    while (searchIndex.findComputerIds(search) == null) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new IllegalStateException("Search index not built after "
+            + SEARCH_INDEX_TIMEOUT_MS + " ms");
+      }
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for the search index", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.daos.generator.CatalogGenerator;
+import com.excilys.cdb.services.CompanyService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Deletion of a company and its computers, at growing company sizes and with ranges of
+ * delete.batchSize computers. Each measurement deletes a company inserted before the iteration.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompanyDeleteBenchmark {
+
+  // Constants
+  private static final String BATCH_SIZE_PROPERTY = "delete.batchSize";
+  private static final long COMPANY_ID = 1;
+  private static final int INSERT_BATCH_SIZE = 1000;
+  private static final String INSERT_COMPANY = "INSERT INTO company (id, name) VALUES (?, ?)";
+  private static final String INSERT_COMPUTER = "INSERT INTO computer "
+      + "(id, name, company_id, company_name, version) VALUES (?, ?, ?, ?, 0)";
+
+  // Configuration
+  @Param({ "1000", "10000", "100000" })
+  private int companySize;
+  @Param({ "500", "5000" })
+  private int batchSize;
+
+  // Attributes
+  private ClassPathXmlApplicationContext context;
+  private CompanyService companyService;
+  private DataSource dataSource;
+
+  /**
+   * Start the context on an empty database.
+   *
+   * @throws SQLException if the database cannot be emptied
+   */
+  @Setup
+  public void setUp() throws SQLException {
+    System.setProperty(BATCH_SIZE_PROPERTY, Integer.toString(batchSize));
+    context = BenchmarkDatabase.start(0, false);
+    companyService = context.getBean(CompanyService.class);
+    dataSource = context.getBean("dataSource", DataSource.class);
+  }
+
+  /**
+   * Insert the company and its computers before each deletion.
+   *
+   * @throws SQLException if the rows cannot be inserted
+   */
+  @Setup(Level.Iteration)
+  public void insertCompany() throws SQLException {
+    String companyName = CatalogGenerator.companyName(COMPANY_ID);
+    try (Connection connection = dataSource.getConnection()) {
+      try (Statement statement = connection.createStatement()) {
+        statement.executeUpdate("DELETE FROM computer");
+        statement.executeUpdate("DELETE FROM company");
+      }
+      connection.setAutoCommit(false);
+      try (PreparedStatement company = connection.prepareStatement(INSERT_COMPANY);
+          PreparedStatement computer = connection.prepareStatement(INSERT_COMPUTER)) {
+        company.setLong(1, COMPANY_ID);
+        company.setString(2, companyName);
+        company.executeUpdate();
+        for (int id = 1; id <= companySize; id++) {
+          computer.setLong(1, id);
+          computer.setString(2, "Computer " + id);
+          computer.setLong(3, COMPANY_ID);
+          computer.setString(4, companyName);
+          computer.addBatch();
+          if (id % INSERT_BATCH_SIZE == 0) {
+            computer.executeBatch();
+          }
+        }
+        computer.executeBatch();
+      }
+      connection.commit();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+    System.clearProperty(BATCH_SIZE_PROPERTY);
+  }
+
+  // Benchmarks
+  @Benchmark
+  public void deleteCompany() {
+    companyService.deleteCompany(COMPANY_ID);
+  }
+}
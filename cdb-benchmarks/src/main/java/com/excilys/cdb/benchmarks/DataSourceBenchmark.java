@@ -0,0 +1,111 @@
+package com.excilys.cdb.benchmarks;
+
+import com.jolbox.bonecp.BoneCPDataSource;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Unit of work of a DAO, a connection taken, one statement run and the connection closed, with
+ * the BoneCP pool of persistence-context.xml and with the DriverManagerDataSource it replaced.
+ * The database is an H2 one served over TCP, so that opening a connection costs a socket and a
+ * session as with MySQL.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class DataSourceBenchmark {
+
+  // Constants
+  private static final int DATABASE_PORT = 9094;
+  private static final String URL = "jdbc:h2:tcp://localhost:" + DATABASE_PORT
+      + "/mem:cdb-datasource;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+  // Configuration
+  @Param({ "driverManager", "pool" })
+  private String dataSourceType;
+
+  // Attributes
+  private Server database;
+  private DataSource dataSource;
+
+  /**
+   * Start the database, then the data source, the pool sized as in dao.properties.
+   *
+   * @throws SQLException if the database cannot be started
+   */
+  @Setup
+  public void setUp() throws SQLException {
+    database = Server.createTcpServer("-tcpPort", String.valueOf(DATABASE_PORT)).start();
+    if ("pool".equals(dataSourceType)) {
+      BoneCPDataSource pool = new BoneCPDataSource();
+      pool.setDriverClass("org.h2.Driver");
+      pool.setJdbcUrl(URL);
+      pool.setUsername("sa");
+      pool.setPassword("");
+      pool.setPartitionCount(2);
+      pool.setMinConnectionsPerPartition(5);
+      pool.setMaxConnectionsPerPartition(10);
+      pool.setAcquireIncrement(2);
+      pool.setStatementsCacheSize(100);
+      dataSource = pool;
+    } else {
+      dataSource = new DriverManagerDataSource(URL, "sa", "");
+    }
+  }
+
+  /**
+   * Close the pool, then stop the database.
+   */
+  @TearDown
+  public void tearDown() {
+    if (dataSource instanceof BoneCPDataSource) {
+      ((BoneCPDataSource) dataSource).close();
+    }
+    database.stop();
+  }
+
+  // Benchmarks
+  /**
+   * Take a connection, run a statement and give the connection back.
+   *
+   * @return the statement result
+   * @throws SQLException if the statement fails
+   */
+  @Benchmark
+  public int unitOfWork() throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT 1");
+        ResultSet resultSet = statement.executeQuery()) {
+      resultSet.next();
+      return resultSet.getInt(1);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.utils.DateFormatManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and formatting of dates, with an explicit and with the localized format.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateFormatBenchmark {
+
+  // Constants
+  private static final String FORMAT = "MM/dd/yyyy";
+
+  // Attributes
+  private String dateStr = "01/24/1984";
+  private LocalDateTime date = LocalDateTime.of(1984, 1, 24, 0, 0);
+  private DateFormatManager dateFormatManager;
+
+  @Setup
+  public void setUp() {
+    dateFormatManager = Fixtures.dateFormatManager();
+  }
+
+  // Benchmarks
+  @Benchmark
+  public LocalDateTime parse() {
+    return DateFormatManager.parse(dateStr, FORMAT);
+  }
+
+  @Benchmark
+  public LocalDateTime parseLocal() {
+    return dateFormatManager.parseLocal(dateStr);
+  }
+
+  @Benchmark
+  public String toDateString() {
+    return DateFormatManager.toDateString(date, FORMAT);
+  }
+
+  @Benchmark
+  public String toLocalDateStringFormat() {
+    return dateFormatManager.toLocalDateStringFormat(date);
+  }
+}
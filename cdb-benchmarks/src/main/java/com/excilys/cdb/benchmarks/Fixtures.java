@@ -0,0 +1,85 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.dtos.CompanyDto;
+import com.excilys.cdb.dtos.ComputerDto;
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.utils.DateFormatManager;
+
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic objects of the mapper, validator and serialization benchmarks.
+ *
+ * @author Aurelien.R
+ */
+public class Fixtures {
+
+  // Constants
+  private static final LocalDateTime INTRODUCED = LocalDateTime.of(1984, 1, 24, 0, 0);
+  private static final LocalDateTime DISCONTINUED = LocalDateTime.of(1993, 10, 15, 0, 0);
+  private static final int TOTAL_ELEMENTS = 1000;
+
+  /**
+   * Start the date format manager of the mappers and validators on the localized messages, as the
+   * application context does.
+   *
+   * @return the started manager
+   */
+  public static DateFormatManager dateFormatManager() {
+    ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+    messageSource.setBasename("localization/messages");
+    messageSource.setDefaultEncoding("UTF-8");
+    DateFormatManager dateFormatManager = new DateFormatManager(messageSource);
+    dateFormatManager.start();
+    return dateFormatManager;
+  }
+
+  /**
+   * A computer with its dates and company.
+   *
+   * @return the computer
+   */
+  public static Computer computer() {
+    Computer computer =
+        new Computer(42, "Macintosh 128K", new Company(1, "Apple Inc."), DISCONTINUED, INTRODUCED);
+    computer.setCompanyName("Apple Inc.");
+    return computer;
+  }
+
+  /**
+   * A valid computer DTO, with dates in the default date format.
+   *
+   * @return the computer DTO
+   */
+  public static ComputerDto computerDto() {
+    return new ComputerDto(42, "Macintosh 128K", "01/24/1984", "10/15/1993",
+        new CompanyDto(1, "Apple Inc."));
+  }
+
+  /**
+   * A page of computer views, one out of three without dates and one out of five without company.
+   *
+   * @param size size of the page
+   * @return first page of TOTAL_ELEMENTS computers
+   */
+  public static Page<ComputerView> computerViewPage(int size) {
+    List<ComputerView> computers = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      boolean dated = i % 3 != 0;
+      boolean company = i % 5 != 0;
+      computers.add(new ComputerView(i + 1, "Computer " + i, dated ? INTRODUCED.plusDays(i) : null,
+          dated ? DISCONTINUED.plusDays(i) : null, company ? (long) i % 40 + 1 : null,
+          company ? "Company " + i % 40 : null));
+    }
+    return new PageImpl<>(computers, new PageRequest(0, size), TOTAL_ELEMENTS);
+  }
+}
@@ -0,0 +1,154 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.daos.generator.CatalogGenerator;
+import com.excilys.cdb.dtos.ImportReportDto;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.services.ComputerImportService;
+import com.excilys.cdb.utils.CsvUtils;
+import com.excilys.cdb.utils.LineFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Bulk import of a generated catalog file into an empty computer table, by chunks of
+ * import.chunkSize computers. Each measurement is a whole import, the throughput being the rows
+ * parameter divided by the score.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+
+  // Constants
+  private static final String CHUNK_SIZE_PROPERTY = "import.chunkSize";
+
+  // Configuration
+  @Param({ "10000", "100000" })
+  private int rows;
+  @Param({ "100", "1000", "10000" })
+  private int chunkSize;
+  @Param({ "csv", "json" })
+  private LineFormat format;
+
+  // Attributes
+  private ClassPathXmlApplicationContext context;
+  private ComputerImportService importService;
+  private DataSource dataSource;
+  private byte[] file;
+
+  /**
+   * Load the companies of the catalog, and write its computers as a file of the format.
+   *
+   * @throws SQLException if the rows cannot be inserted
+   */
+  @Setup
+  public void setUp() throws SQLException {
+    System.setProperty(CHUNK_SIZE_PROPERTY, Integer.toString(chunkSize));
+    context = BenchmarkDatabase.start(rows, false);
+    importService = context.getBean(ComputerImportService.class);
+    dataSource = context.getBean("dataSource", DataSource.class);
+    file = catalogFile(BenchmarkDatabase.catalog(rows), format);
+  }
+
+  /**
+   * Empty the computer table before each import.
+   *
+   * @throws SQLException if the computers cannot be deleted
+   */
+  @Setup(Level.Iteration)
+  public void deleteComputers() throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.executeUpdate("DELETE FROM computer");
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+    System.clearProperty(CHUNK_SIZE_PROPERTY);
+  }
+
+  // Benchmarks
+  /**
+   * Import the whole file.
+   *
+   * @return the import report
+   * @throws IOException never, the file is in memory
+   */
+  @Benchmark
+  public ImportReportDto importCatalog() throws IOException {
+    ImportReportDto report =
+        importService.importComputers(new ByteArrayInputStream(file), format);
+    if (report.imported != rows) {
+      throw new IllegalStateException("Import rejected computers: " + report);
+    }
+    return report;
+  }
+
+  /**
+   * Computers of a catalog as a file of the given format, with a header line for csv.
+   */
+  private static byte[] catalogFile(CatalogGenerator catalog, LineFormat format) {
+    ObjectMapper mapper = new ObjectMapper();
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(LineFormat.DATE_TIME_FORMAT);
+    StringBuilder file = new StringBuilder();
+    if (format == LineFormat.csv) {
+      file.append(LineFormat.CSV_HEADER).append('\n');
+    }
+    for (long id = 1; id <= catalog.getComputers(); id++) {
+      Computer computer = catalog.computer(id);
+      String introduced = format(computer.getIntroduced(), formatter);
+      String discontinued = format(computer.getDiscontinued(), formatter);
+      String company = computer.getCompany() == null ? null : computer.getCompany().getName();
+      if (format == LineFormat.csv) {
+        file.append(CsvUtils.toLine(computer.getName(), introduced, discontinued, company));
+      } else {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("name", computer.getName());
+        node.put("introduced", introduced);
+        node.put("discontinued", discontinued);
+        node.put("company", company);
+        file.append(node.toString());
+      }
+      file.append('\n');
+    }
+    return file.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String format(LocalDateTime date, DateTimeFormatter formatter) {
+    return date == null ? null : date.format(formatter);
+  }
+}
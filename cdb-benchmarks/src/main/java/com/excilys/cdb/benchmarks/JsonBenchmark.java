@@ -0,0 +1,56 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.dtos.ComputerPageDto;
+import com.excilys.cdb.mappers.ComputerMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a dashboard page by the rest module, with the default object mapper of the
+ * message converter.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+  // Configuration
+  @Param({ "10", "50", "100" })
+  private int pageSize;
+
+  // Attributes
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private ComputerPageDto page;
+
+  @Setup
+  public void setUp() {
+    Fixtures.dateFormatManager();
+    page = new ComputerPageDto("", ComputerMapper.toComputerDtoPage(
+        Fixtures.computerViewPage(pageSize)));
+  }
+
+  // Benchmarks
+  @Benchmark
+  public byte[] writeComputerPage() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(page);
+  }
+}
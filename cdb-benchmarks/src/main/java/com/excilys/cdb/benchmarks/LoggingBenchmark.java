@@ -0,0 +1,111 @@
+package com.excilys.cdb.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+import com.excilys.cdb.dtos.ComputerDto;
+import com.excilys.cdb.mappers.ComputerMapper;
+import com.excilys.cdb.models.Computer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the mapper logs by level: a list of computers is mapped with the application loggers at
+ * INFO, as in production, DEBUG and TRACE, the events being formatted with the pattern of the
+ * file appender and written nowhere.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+  // Constants
+  private static final String APPLICATION_LOGGER = "com.excilys.cdb";
+  private static final String PATTERN =
+      "%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+  private static final int COMPUTERS = 50;
+
+  // Configuration
+  @Param({ "INFO", "DEBUG", "TRACE" })
+  private String level;
+
+  // Attributes
+  private OutputStreamAppender<ILoggingEvent> appender;
+  private List<Computer> computers;
+
+  /**
+   * Send the application logs at the benchmarked level to a discarding appender.
+   */
+  @Setup
+  public void setUp() {
+    LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(loggerContext);
+    encoder.setPattern(PATTERN);
+    encoder.start();
+
+    appender = new OutputStreamAppender<>();
+    appender.setContext(loggerContext);
+    appender.setEncoder(encoder);
+    appender.setOutputStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+      }
+    });
+    appender.start();
+
+    Logger logger = loggerContext.getLogger(APPLICATION_LOGGER);
+    logger.detachAndStopAllAppenders();
+    logger.addAppender(appender);
+    logger.setAdditive(false);
+    logger.setLevel(Level.toLevel(level));
+
+    computers = new ArrayList<>(COMPUTERS);
+    for (int i = 0; i < COMPUTERS; i++) {
+      computers.add(Fixtures.computer());
+    }
+    Fixtures.dateFormatManager();
+  }
+
+  @TearDown
+  public void tearDown() {
+    appender.stop();
+  }
+
+  // Benchmarks
+  @Benchmark
+  public List<ComputerDto> toComputerDtoList() {
+    return ComputerMapper.toComputerDtoList(computers);
+  }
+}
@@ -0,0 +1,72 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.dtos.ComputerDto;
+import com.excilys.cdb.mappers.ComputerMapper;
+import com.excilys.cdb.mappers.QueryPageParameterMapper;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.QueryPageParameter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a computer, of a dashboard page up to 1000 rows and of the dashboard request
+ * parameters.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+  // Configuration
+  @Param({ "10", "50", "100", "1000" })
+  private int pageSize;
+
+  // Attributes
+  private Computer computer;
+  private Page<ComputerView> page;
+
+  @Setup
+  public void setUp() {
+    Fixtures.dateFormatManager();
+    computer = Fixtures.computer();
+    page = Fixtures.computerViewPage(pageSize);
+  }
+
+  // Benchmarks
+  @Benchmark
+  public ComputerDto toComputerDto() {
+    return ComputerMapper.toComputerDto(computer);
+  }
+
+  @Benchmark
+  public List<ComputerDto> toComputerDtoPage() {
+    // Page.map is eager, the content is mapped here
+    return ComputerMapper.toComputerDtoPage(page).getContent();
+  }
+
+  @Benchmark
+  public QueryPageParameter toQueryPageParameter() {
+    return QueryPageParameterMapper.toQueryPageParameter("3", String.valueOf(pageSize), "apple",
+        "company", "DESC");
+  }
+}
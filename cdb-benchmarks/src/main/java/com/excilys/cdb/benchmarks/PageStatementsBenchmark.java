@@ -0,0 +1,151 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.QueryPageParameter;
+import com.excilys.cdb.monitoring.RequestStatistics;
+import com.excilys.cdb.services.ComputerService;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.data.domain.Sort.Direction;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * SQL statements of a dashboard page at growing page sizes, counted with RequestStatistics: the
+ * computer views of the service, read with their company name in one statement, against the
+ * computer entities the pages were read as before, each company of the page being loaded by a
+ * statement of its own when it is not in the second level cache. The count of the dashboard is
+ * left out, it is the same statement for both.
+ *
+ * <p>The statements and entityLoads counters are rates, as the pages score: the statements of a
+ * page are the statements counter divided by the score. In the generated catalog of 10000
+ * computers, the first slices of 10, 50 and 100 computers, one more computer read, belong to 9,
+ * 27 and 38 companies: before the views, they ran 10, 28 and 39 statements on a cold company
+ * cache, against 1 for the views.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageStatementsBenchmark {
+
+  // Constants
+  private static final int ROWS = 10000;
+  private static final String VIEWS = "views";
+  private static final String COLD = "cold";
+  // Page query as it was before the views, computers loaded as entities with their company
+  private static final String ENTITY_PAGE_QUERY = "SELECT c FROM Computer c "
+      + "LEFT JOIN c.company cpy WHERE (c.name LIKE :search OR cpy.name LIKE :search) "
+      + "ORDER BY c.name, c.id";
+
+  // Configuration
+  @Param({ "10", "50", "100" })
+  private int pageSize;
+  @Param({ "views", "entities" })
+  private String query;
+  @Param({ "cold", "warm" })
+  private String companyCache;
+
+  // Attributes
+  private ClassPathXmlApplicationContext context;
+  private ComputerService computerService;
+  private EntityManagerFactory entityManagerFactory;
+  private QueryPageParameter firstPage;
+
+  /**
+   * Database work of the pages read by a thread.
+   */
+  @State(Scope.Thread)
+  @AuxCounters
+  public static class Statements {
+
+    public long statements;
+    public long entityLoads;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      statements = 0;
+      entityLoads = 0;
+    }
+  }
+
+  /**
+   * Load the database.
+   *
+   * @throws SQLException if the rows cannot be inserted
+   */
+  @Setup
+  public void setUp() throws SQLException {
+    context = BenchmarkDatabase.start(ROWS, false);
+    computerService = context.getBean(ComputerService.class);
+    entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    firstPage = new QueryPageParameter(0, pageSize, Direction.ASC, "name", "");
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  // Benchmarks
+  /**
+   * Read the first page sorted by name, as the dashboard does.
+   *
+   * @param statements database work of the thread
+   * @return the computers of the page
+   */
+  @Benchmark
+  public List<?> firstPage(Statements statements) {
+    if (COLD.equals(companyCache)) {
+      // Companies not read yet, as on the first pages after a start
+      entityManagerFactory.getCache().evict(Company.class);
+    }
+    RequestStatistics statistics = RequestStatistics.start();
+    try {
+      return VIEWS.equals(query) ? computerService.findSliceByQuery(firstPage).getContent()
+          : findEntities();
+    } finally {
+      RequestStatistics.stop();
+      statements.statements += statistics.getStatements();
+      statements.entityLoads += statistics.getEntityLoads();
+    }
+  }
+
+  /**
+   * The page read as entities, one more computer fetched as the slice queries do.
+   */
+  private List<Computer> findEntities() {
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      return entityManager.createQuery(ENTITY_PAGE_QUERY, Computer.class)
+          .setParameter("search", "%" + firstPage.getSearch() + "%")
+          .setMaxResults(pageSize + 1).getResultList();
+    } finally {
+      entityManager.close();
+    }
+  }
+}
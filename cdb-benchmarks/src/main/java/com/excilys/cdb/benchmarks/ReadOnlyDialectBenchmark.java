@@ -0,0 +1,98 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.daos.jpa.ReadOnlyHibernateJpaDialect;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.QueryPageParameter;
+import com.excilys.cdb.services.ComputerService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only transactions of the computer service with the dialect of the persistence context,
+ * loading entities read-only, against the plain HibernateJpaDialect, which keeps a snapshot of
+ * every loaded entity for dirty checking. The dialect is swapped on the transaction manager of
+ * the started context.
+ *
+ * <p>The difference is in allocations more than in time, run it with the GC profiler:
+ * {@code java -jar benchmarks.jar ReadOnlyDialectBenchmark -prof gc}, and compare the
+ * gc.alloc.rate.norm of both dialects, in bytes per operation.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadOnlyDialectBenchmark {
+
+  // Constants
+  private static final int ROWS = 10000;
+  private static final int PAGE_SIZE = 50;
+  private static final String PLAIN = "plain";
+
+  // Configuration
+  @Param({ "readOnly", "plain" })
+  private String dialect;
+
+  // Attributes
+  private ClassPathXmlApplicationContext context;
+  private ComputerService computerService;
+  private QueryPageParameter firstPage;
+  private long middleId;
+
+  /**
+   * Load the database and set the benchmarked dialect.
+   *
+   * @throws SQLException if the rows cannot be inserted
+   */
+  @Setup
+  public void setUp() throws SQLException {
+    context = BenchmarkDatabase.start(ROWS, false);
+    computerService = context.getBean(ComputerService.class);
+
+    JpaTransactionManager transactionManager = context.getBean(JpaTransactionManager.class);
+    transactionManager.setJpaDialect(
+        PLAIN.equals(dialect) ? new HibernateJpaDialect() : new ReadOnlyHibernateJpaDialect());
+
+    firstPage = new QueryPageParameter(0, PAGE_SIZE, Direction.ASC, "name", "");
+    middleId = ROWS / 2;
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  // Benchmarks
+  @Benchmark
+  public Page<ComputerView> findByQuery() {
+    return computerService.findByQuery(firstPage);
+  }
+
+  @Benchmark
+  public Computer findById() {
+    return computerService.findById(middleId);
+  }
+}
@@ -0,0 +1,102 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.daos.generator.CatalogGenerator;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.QueryPageParameter;
+import com.excilys.cdb.services.ComputerService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard searches with the LIKE query and with the search index, at growing catalog sizes:
+ * a selective computer name, a company name, and a term matching nothing. The 10 million rows
+ * catalog needs a larger heap and a longer load, it is run on its own:
+ * {@code -p rows=10000000 -jvmArgs -Xmx12g}.
+ *
+ * <p>Over search.index.maxComputers computers, the index is not built and both modes measure the
+ * LIKE query.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+  // Constants
+  private static final int PAGE_SIZE = 50;
+
+  // Configuration
+  @Param({ "10000", "1000000" })
+  private int rows;
+  @Param({ "false", "true" })
+  private boolean searchIndex;
+
+  // Attributes
+  private ClassPathXmlApplicationContext context;
+  private ComputerService computerService;
+  private QueryPageParameter computerName;
+  private QueryPageParameter companyName;
+  private QueryPageParameter noMatch;
+
+  /**
+   * Load the database, and build the index when enabled.
+   *
+   * @throws SQLException if the rows cannot be inserted
+   */
+  @Setup
+  public void setUp() throws SQLException {
+    context = BenchmarkDatabase.start(rows, searchIndex);
+    computerService = context.getBean(ComputerService.class);
+
+    CatalogGenerator catalog = BenchmarkDatabase.catalog(rows);
+    computerName = search(catalog.computer(rows / 2).getName());
+    companyName = search(CatalogGenerator.companyName(catalog.getCompanies() / 2 + 1));
+    noMatch = search("Zzyzx");
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  // Benchmarks
+  @Benchmark
+  public Slice<ComputerView> searchComputerName() {
+    return computerService.findSliceByQuery(computerName);
+  }
+
+  @Benchmark
+  public Slice<ComputerView> searchCompanyName() {
+    return computerService.findSliceByQuery(companyName);
+  }
+
+  @Benchmark
+  public Slice<ComputerView> searchNoMatch() {
+    return computerService.findSliceByQuery(noMatch);
+  }
+
+  private static QueryPageParameter search(String search) {
+    return new QueryPageParameter(0, PAGE_SIZE, Direction.ASC, "name", search);
+  }
+}
@@ -0,0 +1,136 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.daos.generator.CatalogGenerator;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.KeysetCursor;
+import com.excilys.cdb.models.OrderBy;
+import com.excilys.cdb.models.QueryPageParameter;
+import com.excilys.cdb.services.ComputerService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard queries of the computer service on an in memory H2 database, with and without the
+ * search index: first page, deep page sorted by company with an offset and with a cursor,
+ * search, count and find by id, at growing catalog sizes. Other sizes are set by the rows
+ * parameter, for instance {@code -p rows=10000000 -jvmArgs -Xmx12g}.
+ *
+ * <p>H2 does not plan like MySQL, the numbers compare versions of the application rather than
+ * predict production latencies.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+  // Constants
+  private static final int PAGE_SIZE = 50;
+
+  // Configuration
+  @Param({ "10000", "100000", "1000000" })
+  private int rows;
+  @Param({ "false", "true" })
+  private boolean searchIndex;
+
+  // Attributes
+  private ClassPathXmlApplicationContext context;
+  private ComputerService computerService;
+  private QueryPageParameter firstPage;
+  private QueryPageParameter deepPage;
+  private QueryPageParameter keysetPage;
+  private QueryPageParameter search;
+  private long middleId;
+
+  /**
+   * Load the database, then build the queries, the keyset one from the last computer before the
+   * deep page.
+   *
+   * @throws SQLException if the rows cannot be inserted
+   */
+  @Setup
+  public void setUp() throws SQLException {
+    context = BenchmarkDatabase.start(rows, searchIndex);
+    computerService = context.getBean(ComputerService.class);
+
+    int middlePage = rows / PAGE_SIZE / 2;
+    firstPage = new QueryPageParameter(0, PAGE_SIZE, Direction.ASC, "name", "");
+    deepPage = new QueryPageParameter(middlePage, PAGE_SIZE, Direction.ASC, "company", "");
+    search = new QueryPageParameter(0, PAGE_SIZE, Direction.ASC, "name",
+        CatalogGenerator.companyName(42 % BenchmarkDatabase.catalog(rows).getCompanies() + 1));
+
+    List<ComputerView> previous = computerService.findByQuery(
+        new QueryPageParameter(middlePage - 1, PAGE_SIZE, Direction.ASC, "company", ""))
+        .getContent();
+    ComputerView last = previous.get(previous.size() - 1);
+    keysetPage = new QueryPageParameter(PAGE_SIZE, Direction.ASC, "company", "",
+        KeysetCursor.after(OrderBy.company, Direction.ASC, last));
+    middleId = rows / 2;
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  // Benchmarks
+  @Benchmark
+  public Page<ComputerView> firstPage() {
+    return computerService.findByQuery(firstPage);
+  }
+
+  @Benchmark
+  public Slice<ComputerView> firstSlice() {
+    return computerService.findSliceByQuery(firstPage);
+  }
+
+  @Benchmark
+  public Slice<ComputerView> deepPageByCompany() {
+    return computerService.findSliceByQuery(deepPage);
+  }
+
+  @Benchmark
+  public Slice<ComputerView> keysetPageByCompany() {
+    return computerService.findByKeyset(keysetPage);
+  }
+
+  @Benchmark
+  public Slice<ComputerView> searchByCompany() {
+    return computerService.findSliceByQuery(search);
+  }
+
+  @Benchmark
+  public long countSearch() {
+    // Served by the count cache after the first call
+    return computerService.count(search);
+  }
+
+  @Benchmark
+  public Computer findById() {
+    return computerService.findById(middleId);
+  }
+}
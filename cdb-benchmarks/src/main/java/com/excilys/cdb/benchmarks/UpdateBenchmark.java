@@ -0,0 +1,118 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.services.ComputerService;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrent edits of computers, each a read of the computer then a versioned update, as the
+ * edit form does. Writers either all edit the same computer, or each edit its own. Updates of a
+ * stale version are rejected, they are counted apart from the successful ones.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class UpdateBenchmark {
+
+  // Constants
+  private static final int ROWS = 10000;
+
+  // Configuration
+  @Param({ "same", "distinct" })
+  private String computers;
+
+  // Attributes
+  private ClassPathXmlApplicationContext context;
+  private ComputerService computerService;
+  private final AtomicInteger writers = new AtomicInteger();
+
+  /**
+   * Edits of a writer thread, counted by outcome.
+   */
+  @State(Scope.Thread)
+  @AuxCounters
+  public static class Edits {
+
+    public long updated;
+    public long conflicts;
+
+    private long computerId;
+
+    /**
+     * Pick the computer edited by this writer.
+     *
+     * @param benchmark benchmark state
+     */
+    @Setup
+    public void setUp(UpdateBenchmark benchmark) {
+      computerId = "same".equals(benchmark.computers) ? 1
+          : benchmark.writers.incrementAndGet();
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      updated = 0;
+      conflicts = 0;
+    }
+  }
+
+  /**
+   * Load the database.
+   *
+   * @throws SQLException if the rows cannot be inserted
+   */
+  @Setup
+  public void setUp() throws SQLException {
+    context = BenchmarkDatabase.start(ROWS, false);
+    computerService = context.getBean(ComputerService.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  // Benchmarks
+  /**
+   * Read a computer and write it back.
+   *
+   * @param edits edits of the writer
+   */
+  @Benchmark
+  public void editComputer(Edits edits) {
+    Computer computer = computerService.findById(edits.computerId);
+    try {
+      computerService.updateComputer(computer);
+      edits.updated++;
+    } catch (OptimisticLockingFailureException e) {
+      edits.conflicts++;
+    }
+  }
+}
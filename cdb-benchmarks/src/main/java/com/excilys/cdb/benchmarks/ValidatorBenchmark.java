@@ -0,0 +1,80 @@
+package com.excilys.cdb.benchmarks;
+
+import com.excilys.cdb.dtos.ComputerDto;
+import com.excilys.cdb.validators.ValidatorException;
+import com.excilys.cdb.validators.utils.ComputerDtoValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a computer DTO, valid and with discontinued before introduced.
+ *
+ * @author Aurelien.R
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidatorBenchmark {
+
+  // Constants
+  private static final String INTRODUCED = "01/24/1984";
+
+  // Attributes
+  private ComputerDto valid;
+  private ComputerDto inconsistentDates;
+
+  /**
+   * Start the date formats and build the DTOs.
+   */
+  @Setup
+  public void setUp() {
+    Fixtures.dateFormatManager();
+    valid = Fixtures.computerDto();
+    inconsistentDates = Fixtures.computerDto();
+    inconsistentDates.setDiscontinued("01/01/1980");
+  }
+
+  // Benchmarks
+  /**
+   * Validate a valid DTO.
+   *
+   * @return the DTO, dates parsed
+   */
+  @Benchmark
+  public ComputerDto validate() {
+    // Clears the dates parsed by the previous validation
+    valid.setIntroduced(INTRODUCED);
+    ComputerDtoValidator.validate(valid);
+    return valid;
+  }
+
+  /**
+   * Reject an invalid DTO.
+   *
+   * @return the rejection
+   */
+  @Benchmark
+  public ValidatorException reject() {
+    inconsistentDates.setIntroduced(INTRODUCED);
+    try {
+      ComputerDtoValidator.validate(inconsistentDates);
+      throw new IllegalStateException("Inconsistent dates accepted");
+    } catch (ValidatorException e) {
+      return e;
+    }
+  }
+}
@@ -0,0 +1,421 @@
+package com.excilys.cdb.benchmarks.load;
+
+import com.excilys.cdb.benchmarks.BenchmarkDatabase;
+import com.excilys.cdb.benchmarks.load.WebClient.Response;
+import com.excilys.cdb.daos.generator.CatalogGenerator;
+import com.excilys.cdb.monitoring.LatencyHistogram;
+import com.excilys.cdb.monitoring.TimedMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open loop HTTP load test of the webapp and the rest api: operations are started at a given
+ * rate with Poisson arrivals, whatever the response times, and each latency is measured from the
+ * time its operation was due, so that a slow server is not hidden by queued requests. The
+ * latency percentiles and error rates of each operation are printed at the end, and the exit
+ * status is 1 when the error rate or the 99th percentile goes over its limit.
+ *
+ * <pre>
+ * mvn -Pload-test -pl cdb-benchmarks -am verify -DskipITs -Dload.rate=100 -Dload.duration=120
+ * </pre>
+ *
+ * <p>Options, all optional: --rate (operations/s, 50), --duration (s, 60), --warmup (s, 15),
+ * --users (concurrent users, 32), --computers (100000), --mix (see {@link Operation#DEFAULT_MIX}),
+ * --port (8080), --webapp-war and --rest-war (target/wars), --target (url of a running server
+ * hosting both contexts instead of the embedded one, loaded with --computers computers),
+ * --max-error-rate (%, 1) and --max-p99-ms (1000). Invalid options print the usage, with exit
+ * status 2.
+ *
+ * <p>A response with a 4xx or 5xx status, or a network error, is an error. Edits in conflict
+ * with another user are answered with the edit page, and are not. Deletes are sent until the
+ * deletable tenth of the computers is deleted, the following ones are skipped and not recorded.
+ *
+ * @author Aurelien.R
+ */
+public class LoadTest {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(LoadTest.class);
+
+  // Constants
+  private static final int PAGE_SIZE = 50;
+  private static final int REST_PAGE_SIZE = 30;
+  private static final String[] SORT_COLUMNS = { "name", "introduced", "discontinued",
+      "company" };
+  private static final Pattern SELECTED_OPTION =
+      Pattern.compile("<option value=\"(\\d+)\" selected=\"selected\"");
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+  private static final int USAGE_STATUS = 2;
+  private static final String USAGE = "Usage: LoadTest [--rate operations/s] [--duration s]"
+      + " [--warmup s] [--users count] [--computers count] [--mix operation=weight,...]"
+      + " [--port port] [--webapp-war file] [--rest-war file] [--target url]"
+      + " [--max-error-rate %] [--max-p99-ms ms]";
+
+  // Configuration
+  private double rate = 50;
+  private int durationSeconds = 60;
+  private int warmupSeconds = 15;
+  private int users = 32;
+  private int computers = 100000;
+  private String mix = Operation.DEFAULT_MIX;
+  private double maxErrorRate = 1;
+  private long maxP99Ms = 1000;
+  private int port = 8080;
+  private String target;
+
+  // Attributes
+  private final Map<Operation, TimedMetrics> metrics = new EnumMap<>(Operation.class);
+  private final TimedMetrics allMetrics = new TimedMetrics();
+  private Operation[] weightedOperations;
+  private CatalogGenerator catalog;
+  private AtomicInteger lastDeleted;
+  private int skippedDeletes;
+  private BlockingQueue<User> pool;
+  private volatile long measureStart;
+
+  /**
+   * Run a load test.
+   *
+   * @param args command line options
+   * @throws Exception if the server cannot be started or the users cannot log in
+   */
+  public static void main(String[] args) throws Exception {
+
+    LoadTest loadTest = new LoadTest();
+    LoadTestServer server = new LoadTestServer();
+    for (int i = 0; i < args.length; i += 2) {
+      if (i + 1 >= args.length) {
+        usage("Missing value of option " + args[i]);
+      }
+      try {
+        loadTest.parseOption(server, args[i], args[i + 1]);
+      } catch (IllegalArgumentException e) {
+        usage("Invalid option " + args[i] + " " + args[i + 1] + ": " + e.getMessage());
+      }
+    }
+    if (loadTest.rate <= 0 || loadTest.durationSeconds <= 0 || loadTest.warmupSeconds < 0
+        || loadTest.users <= 0 || loadTest.computers <= 0) {
+      usage("--rate, --duration, --users and --computers must be positive, --warmup not negative");
+    }
+
+    boolean passed;
+    if (loadTest.target == null) {
+      server.setPort(loadTest.port);
+      server.start();
+      try {
+        String host = "http://localhost:" + loadTest.port;
+        passed = loadTest.run(host + LoadTestServer.WEBAPP_CONTEXT + "/",
+            host + LoadTestServer.REST_CONTEXT + "/");
+      } finally {
+        server.stop();
+      }
+    } else {
+      passed = loadTest.run(loadTest.target + "computer-database/",
+          loadTest.target + "computer-database-rest/");
+    }
+    System.exit(passed ? 0 : 1);
+  }
+
+  /**
+   * Set an option of the load test, or of its embedded server.
+   *
+   * @throws IllegalArgumentException if the option is unknown or its value invalid
+   */
+  private void parseOption(LoadTestServer server, String option, String value) {
+    switch (option) {
+      case "--rate":
+        rate = Double.parseDouble(value);
+        break;
+      case "--duration":
+        durationSeconds = Integer.parseInt(value);
+        break;
+      case "--warmup":
+        warmupSeconds = Integer.parseInt(value);
+        break;
+      case "--users":
+        users = Integer.parseInt(value);
+        break;
+      case "--computers":
+        computers = Integer.parseInt(value);
+        server.setComputers(computers);
+        break;
+      case "--mix":
+        parseMix(value);
+        mix = value;
+        break;
+      case "--port":
+        port = Integer.parseInt(value);
+        break;
+      case "--webapp-war":
+        server.setWebappWar(new File(value));
+        break;
+      case "--rest-war":
+        server.setRestWar(new File(value));
+        break;
+      case "--target":
+        target = value.endsWith("/") ? value : value + "/";
+        break;
+      case "--max-error-rate":
+        maxErrorRate = Double.parseDouble(value);
+        break;
+      case "--max-p99-ms":
+        maxP99Ms = Long.parseLong(value);
+        break;
+      default:
+        throw new IllegalArgumentException("unknown option");
+    }
+  }
+
+  private static void usage(String error) {
+    System.err.println(error);
+    System.err.println(USAGE);
+    System.exit(USAGE_STATUS);
+  }
+
+  // Methods
+  /**
+   * Log the users in, send the operations during the warmup and the measure, then print the
+   * report.
+   *
+   * @param webappUrl url of the webapp, ending with a slash
+   * @param restUrl url of the rest api, ending with a slash
+   * @return whether the error rate and the 99th percentile are within their limits
+   * @throws IOException if a user cannot log in
+   * @throws InterruptedException if interrupted while waiting for the operations
+   */
+  public boolean run(String webappUrl, String restUrl) throws IOException, InterruptedException {
+
+    weightedOperations = parseMix(mix);
+    catalog = BenchmarkDatabase.catalog(computers);
+    lastDeleted = new AtomicInteger(computers + 1);
+    for (Operation operation : Operation.values()) {
+      metrics.put(operation, new TimedMetrics());
+    }
+
+    LOGGER.info("Load test: logging {} users in", users);
+    pool = new ArrayBlockingQueue<>(users);
+    for (int i = 0; i < users; i++) {
+      pool.add(new User(webappUrl, restUrl));
+    }
+
+    LOGGER.info("Load test: {} operations/s for {} s after {} s of warmup", rate, durationSeconds,
+        warmupSeconds);
+    ExecutorService workers = Executors.newFixedThreadPool(users);
+    Random random = new Random();
+    long start = System.nanoTime();
+    measureStart = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+    long end = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+    double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+    // Poisson arrivals, due times never wait for the previous operations
+    long due = start;
+    while (due < end) {
+      long dueTime = due;
+      Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+      // Deleted from the last ids, edited and read ones are never deleted
+      int deletedId = operation == Operation.delete ? lastDeleted.decrementAndGet() : 0;
+      if (operation != Operation.delete || deletedId > editableComputers()) {
+        workers.execute(() -> execute(operation, deletedId, dueTime));
+      } else {
+        skippedDeletes++;
+      }
+      due += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+      LockSupport.parkNanos(due - System.nanoTime());
+    }
+    workers.shutdown();
+    if (!workers.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      LOGGER.warn("Load test: operations still running after {} s", SHUTDOWN_TIMEOUT_SECONDS);
+      workers.shutdownNow();
+    }
+    if (skippedDeletes > 0) {
+      LOGGER.warn("Load test: {} deletes skipped, no deletable computer was left",
+          skippedDeletes);
+    }
+
+    return report();
+  }
+
+  private void execute(Operation operation, int deletedId, long dueTime) {
+    User user = pool.poll();
+    boolean error = true;
+    try {
+      error = run(operation, deletedId, user);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Load test: {} failed", operation, e);
+    } finally {
+      pool.add(user);
+      if (dueTime >= measureStart) {
+        long latency = System.nanoTime() - dueTime;
+        metrics.get(operation).record(latency, error);
+        allMetrics.record(latency, error);
+      }
+    }
+  }
+
+  /**
+   * Run an operation, a delete deleting the given computer.
+   *
+   * @return whether it failed
+   */
+  private boolean run(Operation operation, int deletedId, User user) throws IOException {
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int pages = Math.max(1, computers / PAGE_SIZE);
+
+    switch (operation) {
+      case search:
+        String search = random.nextBoolean()
+            ? CatalogGenerator.companyName(1 + random.nextInt(catalog.getCompanies()))
+            : catalog.computer(randomComputer()).getName().split(" ")[0];
+        return failed(user.web.get("computers?pageSize=" + PAGE_SIZE + "&search="
+            + URLEncoder.encode(search, "UTF-8")));
+      case sort:
+        return failed(user.web.get("computers?pageSize=" + PAGE_SIZE + "&orderBy="
+            + SORT_COLUMNS[random.nextInt(SORT_COLUMNS.length)] + "&order="
+            + (random.nextBoolean() ? "ASC" : "DESC")));
+      case page:
+        return failed(user.web.get("computers?pageSize=" + PAGE_SIZE + "&orderBy=name&page="
+            + (1 + random.nextInt(pages))));
+      case edit:
+        return edit(user.web, randomComputer());
+      case delete:
+        return failed(
+            user.web.postForm("computers/delete", "selection", String.valueOf(deletedId)));
+      case restPage:
+        return failed(user.rest.get("json/computers?count=true&page="
+            + (1 + random.nextInt(Math.max(1, computers / REST_PAGE_SIZE)))));
+      case restSlice:
+        return failed(user.rest.get("json/computers?count=false&page="
+            + (1 + random.nextInt(Math.max(1, computers / REST_PAGE_SIZE)))));
+      case restGet:
+        return failed(user.rest.get("json/computers/" + randomComputer()));
+      default:
+        throw new IllegalArgumentException("Unknown operation: " + operation);
+    }
+  }
+
+  private boolean edit(WebClient web, long id) throws IOException {
+    Response page = web.get("computers/" + id);
+    if (failed(page)) {
+      return true;
+    }
+    String html = page.getBody();
+    List<String> form = new ArrayList<>();
+    for (String name : new String[] { "id", "version", "name", "introduced", "discontinued" }) {
+      String value = WebClient.inputValue(html, name);
+      form.add(name);
+      form.add(value == null ? "" : value);
+    }
+    Matcher company = SELECTED_OPTION.matcher(html);
+    if (company.find()) {
+      form.add("company.id");
+      form.add(company.group(1));
+    }
+    return failed(web.postForm("computers/edit", form.toArray(new String[form.size()])));
+  }
+
+  private int randomComputer() {
+    return 1 + ThreadLocalRandom.current().nextInt(editableComputers());
+  }
+
+  private int editableComputers() {
+    return Math.max(1, computers * 9 / 10);
+  }
+
+  private static boolean failed(Response response) {
+    return response.getStatus() >= HttpURLConnection.HTTP_BAD_REQUEST;
+  }
+
+  /**
+   * Operations repeated by their weight in a mix like "search=25,edit=5".
+   */
+  private static Operation[] parseMix(String mix) {
+    List<Operation> operations = new ArrayList<>();
+    for (String entry : mix.split(",")) {
+      String[] weight = entry.trim().split("=");
+      if (weight.length != 2) {
+        throw new IllegalArgumentException("Mix entry is not operation=weight: " + entry);
+      }
+      Operation operation = Operation.valueOf(weight[0].trim());
+      for (int i = Integer.parseInt(weight[1].trim()); i > 0; i--) {
+        operations.add(operation);
+      }
+    }
+    if (operations.isEmpty()) {
+      throw new IllegalArgumentException("Empty mix: " + mix);
+    }
+    return operations.toArray(new Operation[operations.size()]);
+  }
+
+  /**
+   * Print the latencies and error rates of each operation, then of all of them.
+   *
+   * @return whether the error rate and the 99th percentile are within their limits
+   */
+  private boolean report() {
+    System.out.printf("%-10s %8s %8s %8s %9s %9s %9s %9s %9s%n", "operation", "count", "errors",
+        "error %", "rate/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+    for (Map.Entry<Operation, TimedMetrics> entry : metrics.entrySet()) {
+      if (entry.getValue().getLatencies().snapshot().getCount() > 0) {
+        print(entry.getKey().name(), entry.getValue());
+      }
+    }
+    print("all", allMetrics);
+
+    LatencyHistogram.Snapshot latencies = allMetrics.getLatencies().snapshot();
+    double errorRate = latencies.getCount() == 0 ? 0
+        : 100.0 * allMetrics.getErrorCount() / latencies.getCount();
+    long p99Ms = TimeUnit.MICROSECONDS.toMillis(latencies.getPercentile(99));
+    boolean passed = latencies.getCount() > 0 && errorRate <= maxErrorRate && p99Ms <= maxP99Ms;
+    System.out.printf("%s: error rate %.2f%% (max %.2f%%), p99 %d ms (max %d ms)%n",
+        passed ? "PASSED" : "FAILED", errorRate, maxErrorRate, p99Ms, maxP99Ms);
+    return passed;
+  }
+
+  private void print(String name, TimedMetrics operation) {
+    LatencyHistogram.Snapshot latencies = operation.getLatencies().snapshot();
+    long errors = operation.getErrorCount();
+    System.out.printf("%-10s %8d %8d %8.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n", name,
+        latencies.getCount(), errors, 100.0 * errors / latencies.getCount(),
+        (double) latencies.getCount() / durationSeconds, latencies.getPercentile(50) / 1000.0,
+        latencies.getPercentile(90) / 1000.0, latencies.getPercentile(99) / 1000.0,
+        latencies.getMax() / 1000.0);
+  }
+
+  /**
+   * A user, logged in the webapp as admin, and in the rest api.
+   */
+  private static class User {
+
+    private final WebClient web;
+    private final WebClient rest;
+
+    User(String webappUrl, String restUrl) throws IOException {
+      web = new WebClient(webappUrl);
+      web.formLogin("admin", "admin");
+      rest = new WebClient(restUrl);
+      rest.basicLogin("admin", "admin");
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.excilys.cdb.benchmarks.load;
+
+import com.excilys.cdb.benchmarks.BenchmarkDatabase;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.h2.tools.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.servlet.ServletException;
+import javax.sql.DataSource;
+
+/**
+ * The webapp and rest wars in an embedded Tomcat, on an in memory H2 database served over TCP,
+ * filled with a generated catalog and the admin/admin and user/user accounts.
+ *
+ * <p>The database settings of the wars are overridden by system properties, which the property
+ * placeholders read before properties/dao.properties. The schema is generated, and the catalog
+ * loaded, by a service context started beforehand, so the search index of the wars is built on
+ * the loaded catalog.
+ *
+ * @author Aurelien.R
+ */
+public class LoadTestServer {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestServer.class);
+
+  // Constants
+  public static final String WEBAPP_CONTEXT = "/computer-database";
+  public static final String REST_CONTEXT = "/computer-database-rest";
+  private static final String SERVICE_CONTEXT = "classpath:/spring/service-context.xml";
+  private static final String SEARCH_INDEX_PROPERTY = "search.index.enabled";
+
+  // Configuration
+  private int port = 8080;
+  private int databasePort = 9093;
+  private int computers = 100000;
+  private File webappWar = new File("target/wars/cdb-webapp.war");
+  private File restWar = new File("target/wars/cdb-rest.war");
+  private File baseDir = new File("target/tomcat");
+
+  // Attributes
+  private Server database;
+  private Tomcat tomcat;
+
+  // Methods
+  /**
+   * Start the database, load it, then start the wars.
+   *
+   * @throws SQLException if the database cannot be started or loaded
+   * @throws ServletException if a war cannot be deployed
+   * @throws LifecycleException if Tomcat cannot start
+   */
+  public void start() throws SQLException, ServletException, LifecycleException {
+
+    database = Server.createTcpServer("-tcpPort", String.valueOf(databasePort)).start();
+    System.setProperty("url", "jdbc:h2:tcp://localhost:" + databasePort
+        + "/mem:cdb-load;DB_CLOSE_DELAY=-1;MODE=MySQL");
+    System.setProperty("driver", "org.h2.Driver");
+    System.setProperty("nomutilisateur", "sa");
+    System.setProperty("motdepasse", "");
+    System.setProperty("replica.urls", "");
+    // The MySQL streaming fetch size of the wars is rejected by H2
+    System.setProperty("export.fetchSize", "1000");
+
+    System.setProperty(SEARCH_INDEX_PROPERTY, "false");
+    try (ClassPathXmlApplicationContext loading =
+        new ClassPathXmlApplicationContext(SERVICE_CONTEXT)) {
+      DataSource dataSource = loading.getBean("dataSource", DataSource.class);
+      BenchmarkDatabase.load(dataSource, computers);
+      createUsers(dataSource);
+    }
+    System.clearProperty(SEARCH_INDEX_PROPERTY);
+
+    LOGGER.info("Load test: starting {} and {} on port {}", webappWar, restWar, port);
+    tomcat = new Tomcat();
+    tomcat.setPort(port);
+    tomcat.setBaseDir(baseDir.getAbsolutePath());
+    tomcat.getHost().setAppBase(baseDir.getAbsolutePath());
+    tomcat.addWebapp(WEBAPP_CONTEXT, webappWar.getAbsolutePath());
+    tomcat.addWebapp(REST_CONTEXT, restWar.getAbsolutePath());
+    tomcat.start();
+  }
+
+  /**
+   * Stop the wars and the database.
+   *
+   * @throws LifecycleException if Tomcat cannot stop
+   */
+  public void stop() throws LifecycleException {
+    if (tomcat != null) {
+      tomcat.stop();
+      tomcat.destroy();
+    }
+    if (database != null) {
+      database.stop();
+    }
+  }
+
+  /**
+   * Accounts of config/3-ENTRIES.sql.
+   */
+  private static void createUsers(DataSource dataSource) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.executeUpdate("DELETE FROM user_entity");
+      statement.executeUpdate("DELETE FROM user_role");
+      statement.executeUpdate("INSERT INTO user_role (id, name) VALUES (1, 'ROLE_ADMIN')");
+      statement.executeUpdate("INSERT INTO user_role (id, name) VALUES (2, 'ROLE_USER')");
+      statement.executeUpdate("INSERT INTO user_entity (id, username, password, user_role_id) "
+          + "VALUES (1, 'admin', 'admin', 1)");
+      statement.executeUpdate("INSERT INTO user_entity (id, username, password, user_role_id) "
+          + "VALUES (2, 'user', 'user', 2)");
+    }
+  }
+
+  // Setters
+  public void setPort(int port) {
+    this.port = port;
+  }
+
+  public void setDatabasePort(int databasePort) {
+    this.databasePort = databasePort;
+  }
+
+  public void setComputers(int computers) {
+    this.computers = computers;
+  }
+
+  public void setWebappWar(File webappWar) {
+    this.webappWar = webappWar;
+  }
+
+  public void setRestWar(File restWar) {
+    this.restWar = restWar;
+  }
+
+  public void setBaseDir(File baseDir) {
+    this.baseDir = baseDir;
+  }
+}
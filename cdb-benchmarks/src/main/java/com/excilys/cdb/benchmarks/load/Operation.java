@@ -0,0 +1,30 @@
+package com.excilys.cdb.benchmarks.load;
+
+/**
+ * Operations of the load test, on the dashboard of the webapp, as a form logged in admin, or on
+ * the rest api, with basic authentication.
+ *
+ * @author Aurelien.R
+ */
+public enum Operation {
+
+  // Dashboard search by company name or computer family, first page
+  search,
+  // Dashboard first page sorted by a random column and direction
+  sort,
+  // Dashboard random page sorted by name
+  page,
+  // Edit page of a random computer, posted back unchanged
+  edit,
+  // Dashboard deletion of one computer
+  delete,
+  // Rest random page, counted
+  restPage,
+  // Rest random page, not counted
+  restSlice,
+  // Rest random computer
+  restGet;
+
+  public static final String DEFAULT_MIX =
+      "search=25,sort=15,page=15,edit=5,delete=1,restPage=20,restSlice=10,restGet=9";
+}
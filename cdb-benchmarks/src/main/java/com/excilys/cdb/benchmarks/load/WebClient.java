@@ -0,0 +1,217 @@
+package com.excilys.cdb.benchmarks.load;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP client of one user of the load test, keeping its session cookie and CSRF token, or
+ * sending basic credentials. Redirects are not followed, a 302 answers a successful form post.
+ * Not thread safe, one client per concurrent user.
+ *
+ * @author Aurelien.R
+ */
+public class WebClient {
+
+  // Constants
+  private static final String SESSION_COOKIE = "JSESSIONID";
+  private static final String CSRF_PARAMETER = "_csrf";
+  private static final int TIMEOUT_MS = 30000;
+
+  // Attributes
+  private final String baseUrl;
+  private String authorization;
+  private String sessionCookie;
+  private String csrfToken;
+
+  /**
+   * Instantiates a client.
+   *
+   * @param baseUrl url of the application, ending with a slash
+   */
+  public WebClient(String baseUrl) {
+    this.baseUrl = baseUrl;
+  }
+
+  // Methods
+  /**
+   * Send the given credentials with every request.
+   *
+   * @param username the username
+   * @param password the password
+   */
+  public void basicLogin(String username, String password) {
+    authorization = "Basic " + Base64.getEncoder()
+        .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Log in through the login form, then keep the CSRF token of the authenticated session.
+   *
+   * @param username the username
+   * @param password the password
+   * @throws IOException if the login is refused
+   */
+  public void formLogin(String username, String password) throws IOException {
+    csrfToken = inputValue(get("login").getBody(), CSRF_PARAMETER);
+    Response login = postForm("login", "username", username, "password", password);
+    if (login.getStatus() != HttpURLConnection.HTTP_MOVED_TEMP
+        || login.getLocation() == null || login.getLocation().contains("accessdenied")) {
+      throw new IOException("Login refused for " + username + ": " + login.getStatus());
+    }
+    // The token is renewed on authentication
+    csrfToken = inputValue(get("computers/new").getBody(), CSRF_PARAMETER);
+  }
+
+  /**
+   * GET a path.
+   *
+   * @param path path relative to the application url, with its query string
+   * @return the response
+   * @throws IOException on a network error
+   */
+  public Response get(String path) throws IOException {
+    return send("GET", path, null, null);
+  }
+
+  /**
+   * POST a form, with the CSRF token of the session if any.
+   *
+   * @param path path relative to the application url
+   * @param namesAndValues parameter names, each followed by its value
+   * @return the response
+   * @throws IOException on a network error
+   */
+  public Response postForm(String path, String... namesAndValues) throws IOException {
+    StringBuilder form = new StringBuilder();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      appendParameter(form, namesAndValues[i], namesAndValues[i + 1]);
+    }
+    if (csrfToken != null) {
+      appendParameter(form, CSRF_PARAMETER, csrfToken);
+    }
+    return send("POST", path, "application/x-www-form-urlencoded",
+        form.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * POST a json document.
+   *
+   * @param path path relative to the application url
+   * @param json the document
+   * @return the response
+   * @throws IOException on a network error
+   */
+  public Response postJson(String path, byte[] json) throws IOException {
+    return send("POST", path, "application/json", json);
+  }
+
+  private Response send(String method, String path, String contentType, byte[] body)
+      throws IOException {
+
+    HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+    connection.setRequestMethod(method);
+    connection.setInstanceFollowRedirects(false);
+    connection.setConnectTimeout(TIMEOUT_MS);
+    connection.setReadTimeout(TIMEOUT_MS);
+    connection.setRequestProperty("Accept-Language", "en");
+    if (authorization != null) {
+      connection.setRequestProperty("Authorization", authorization);
+    }
+    if (sessionCookie != null) {
+      connection.setRequestProperty("Cookie", sessionCookie);
+    }
+    if (body != null) {
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Content-Type", contentType);
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(body);
+      }
+    }
+
+    int status = connection.getResponseCode();
+    List<String> cookies = connection.getHeaderFields().get("Set-Cookie");
+    if (cookies != null) {
+      for (String cookie : cookies) {
+        if (cookie.startsWith(SESSION_COOKIE + "=")) {
+          sessionCookie = cookie.split(";", 2)[0];
+        }
+      }
+    }
+
+    // Bodies are read to the end, so the connection is kept alive
+    InputStream in = status >= HttpURLConnection.HTTP_BAD_REQUEST ? connection.getErrorStream()
+        : connection.getInputStream();
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    if (in != null) {
+      try (InputStream stream = in) {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+          content.write(buffer, 0, read);
+        }
+      }
+    }
+    return new Response(status, connection.getHeaderField("Location"),
+        new String(content.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  private static void appendParameter(StringBuilder form, String name, String value)
+      throws IOException {
+    if (form.length() > 0) {
+      form.append('&');
+    }
+    form.append(URLEncoder.encode(name, "UTF-8")).append('=')
+        .append(URLEncoder.encode(value, "UTF-8"));
+  }
+
+  /**
+   * Value of a form input of a page.
+   *
+   * @param html the page
+   * @param name name of the input
+   * @return its value, null if the page has no such input
+   */
+  public static String inputValue(String html, String name) {
+    Matcher matcher = Pattern.compile("<input[^>]*name=\"" + Pattern.quote(name)
+        + "\"[^>]*value=\"([^\"]*)\"").matcher(html);
+    return matcher.find() ? matcher.group(1) : null;
+  }
+
+  /**
+   * Status, redirect location and body of a response.
+   */
+  public static class Response {
+
+    private final int status;
+    private final String location;
+    private final String body;
+
+    Response(int status, String location, String body) {
+      this.status = status;
+      this.location = location;
+      this.body = body;
+    }
+
+    public int getStatus() {
+      return status;
+    }
+
+    public String getLocation() {
+      return location;
+    }
+
+    public String getBody() {
+      return body;
+    }
+  }
+}
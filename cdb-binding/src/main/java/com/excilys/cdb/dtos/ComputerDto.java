@@ -1,13 +1,12 @@
 package com.excilys.cdb.dtos;
 
-import com.excilys.cdb.validators.annotations.ComputerDtoDateFormat;
-import com.excilys.cdb.validators.annotations.ComputerDtoDatesConsistency;
+import com.excilys.cdb.validators.annotations.ComputerDtoValidDates;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
-@ComputerDtoDatesConsistency(message = "Invalid date consistency")
+@ComputerDtoValidDates(message = "Invalid date consistency")
 public class ComputerDto {
 
   @Min(value = 0, message = "Computer id cannot be negative number {value}")
@@ -15,11 +14,12 @@ public class ComputerDto {
   @NotNull(message = "Computer name should be not null")
   @Size(min = 0, message = "Computer name cannot be empty string")
   private String name;
-  @ComputerDtoDateFormat(message = "Invalid format for introduced date")
   private String introduced;
-  @ComputerDtoDateFormat(message = "Invalid format for discontinued date")
   private String discontinued;
   private CompanyDto company;
+  private long version;
+  // Dates parsed by validation, reused by mapping, not a bean property
+  private transient ComputerDtoDates parsedDates;
 
   /**
    * Instantiates a new computer dto.
@@ -65,6 +65,7 @@ public class ComputerDto {
 
   public void setIntroduced(String introduced) {
     this.introduced = introduced;
+    this.parsedDates = null;
   }
 
   public String getDiscontinued() {
@@ -73,6 +74,15 @@ public class ComputerDto {
 
   public void setDiscontinued(String discontinued) {
     this.discontinued = discontinued;
+    this.parsedDates = null;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
   }
 
   public CompanyDto getCompany() {
@@ -83,9 +93,28 @@ public class ComputerDto {
     this.company = company;
   }
 
+  /**
+   * Dates parsed when validating this DTO.
+   *
+   * @return the parsed dates, null if not validated since the dates were set
+   */
+  public ComputerDtoDates parsedDates() {
+    return parsedDates;
+  }
+
+  /**
+   * Keep the dates parsed when validating this DTO.
+   *
+   * @param parsedDates the parsed dates
+   */
+  public void cacheParsedDates(ComputerDtoDates parsedDates) {
+    this.parsedDates = parsedDates;
+  }
+
   @Override
   public String toString() {
     return "ComputerDto [id=" + id + ", name=" + name + ", introduced=" + introduced
-        + ", discontinued=" + discontinued + ", company=" + company + "]";
+        + ", discontinued=" + discontinued + ", company=" + company + ", version=" + version
+        + "]";
   }
 }
@@ -0,0 +1,41 @@
+package com.excilys.cdb.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Introduced and discontinued dates of a computerDTO, parsed with the local date format once
+ * validated, so mapping the DTO does not parse them again.
+ *
+ * @author Aurelien.R
+ */
+public class ComputerDtoDates {
+
+  // Attributes
+  private final LocalDateTime introduced;
+  private final LocalDateTime discontinued;
+
+  /**
+   * Instantiates parsed dates.
+   *
+   * @param introduced the introduced date, null if none
+   * @param discontinued the discontinued date, null if none
+   */
+  public ComputerDtoDates(LocalDateTime introduced, LocalDateTime discontinued) {
+    this.introduced = introduced;
+    this.discontinued = discontinued;
+  }
+
+  // Getters
+  public LocalDateTime getIntroduced() {
+    return introduced;
+  }
+
+  public LocalDateTime getDiscontinued() {
+    return discontinued;
+  }
+
+  @Override
+  public String toString() {
+    return "ComputerDtoDates [introduced=" + introduced + ", discontinued=" + discontinued + "]";
+  }
+}
@@ -1,8 +1,10 @@
 package com.excilys.cdb.dtos;
 
+import com.excilys.cdb.models.LowerBoundPage;
 import com.excilys.cdb.models.OrderBy;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.domain.Sort.Order;
 
@@ -15,30 +17,50 @@ public class ComputerPageDto {
   public int pageCount;
   public String search = "";
   public long matchingRowCount = 0;
+  public boolean countExact = true;
+  public boolean hasNext;
+  public String nextCursor;
+  public String previousCursor;
   public String order = Direction.ASC.toString();
   public String orderBy = OrderBy.id.toString();
   public List<ComputerDto> computers;
 
   /**
-   * Instantiates a new computer page dto.
+   * Instantiates a new computer page dto. The counts of a LowerBoundPage are minimums, and
+   * countExact false.
    *
    * @param page Page result object of query
    */
 
   public ComputerPageDto(String search, Page<ComputerDto> page) {
-    this.search = search;
-    this.current = page.getNumber() + 1;
-    this.pageSize = page.getSize();
+    this(search, (Slice<ComputerDto>) page);
     this.pageCount = page.getTotalPages();
     this.matchingRowCount = page.getTotalElements();
+    this.countExact = !(page instanceof LowerBoundPage);
+  }
 
-    Iterator<Order> itr = page.getSort().iterator();
+  /**
+   * Instantiates a new computer page dto, without page and row counts (left to -1 and countExact
+   * false).
+   *
+   * @param slice Slice result object of query
+   */
+  public ComputerPageDto(String search, Slice<ComputerDto> slice) {
+    this.search = search;
+    this.current = slice.getNumber() + 1;
+    this.pageSize = slice.getSize();
+    this.pageCount = -1;
+    this.matchingRowCount = -1;
+    this.countExact = false;
+    this.hasNext = slice.hasNext();
+
+    Iterator<Order> itr = slice.getSort().iterator();
     if (itr.hasNext()) {
       Order ord = itr.next();
       this.orderBy = OrderBy.valueOf(ord.getProperty()).toString();
       this.order = ord.getDirection().toString();
     }
-    this.computers = page.getContent();
+    this.computers = slice.getContent();
   }
   
   public ComputerPageDto(){}
@@ -107,11 +129,45 @@ public class ComputerPageDto {
     this.matchingRowCount = matchingRowCount;
   }
 
+  public boolean isCountExact() {
+    return countExact;
+  }
+
+  public void setCountExact(boolean countExact) {
+    this.countExact = countExact;
+  }
+
+  public boolean isHasNext() {
+    return hasNext;
+  }
+
+  public void setHasNext(boolean hasNext) {
+    this.hasNext = hasNext;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  public String getPreviousCursor() {
+    return previousCursor;
+  }
+
+  public void setPreviousCursor(String previousCursor) {
+    this.previousCursor = previousCursor;
+  }
+
   @Override
   public String toString() {
     return "ComputerPageDto [current=" + current + ", pageSize=" + pageSize + ", pageCount="
-        + pageCount + ", search=" + search + ", matchingRowCount=" + matchingRowCount + ", order="
-        + order + ", orderBy=" + orderBy + ", computers=" + computers + "]";
+        + pageCount + ", search=" + search + ", matchingRowCount=" + matchingRowCount
+        + ", countExact=" + countExact + ", hasNext=" + hasNext + ", nextCursor=" + nextCursor
+        + ", previousCursor=" + previousCursor + ", order=" + order + ", orderBy=" + orderBy
+        + ", computers=" + computers + "]";
   }
   
 }
@@ -0,0 +1,67 @@
+package com.excilys.cdb.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import of computers.
+ *
+ * @author Aurelien.R
+ */
+public class ImportReportDto {
+
+  public long linesRead;
+  public long imported;
+  public long rejected;
+  public long durationMs;
+  public List<String> errors = new ArrayList<>();
+
+  public ImportReportDto() {
+  }
+
+  public long getLinesRead() {
+    return linesRead;
+  }
+
+  public void setLinesRead(long linesRead) {
+    this.linesRead = linesRead;
+  }
+
+  public long getImported() {
+    return imported;
+  }
+
+  public void setImported(long imported) {
+    this.imported = imported;
+  }
+
+  public long getRejected() {
+    return rejected;
+  }
+
+  public void setRejected(long rejected) {
+    this.rejected = rejected;
+  }
+
+  public long getDurationMs() {
+    return durationMs;
+  }
+
+  public void setDurationMs(long durationMs) {
+    this.durationMs = durationMs;
+  }
+
+  public List<String> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(List<String> errors) {
+    this.errors = errors;
+  }
+
+  @Override
+  public String toString() {
+    return "ImportReportDto [linesRead=" + linesRead + ", imported=" + imported + ", rejected="
+        + rejected + ", durationMs=" + durationMs + ", errors=" + errors + "]";
+  }
+}
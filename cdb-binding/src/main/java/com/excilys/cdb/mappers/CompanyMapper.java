@@ -26,7 +26,7 @@ public class CompanyMapper {
       return null;
     }
     CompanyDto companyDto = new CompanyDto(company.getId(), company.getName());
-    LOGGER.debug("\n\t\tMapper: map: company: {}\n\t\tTO: companyDto: {}",company, companyDto);
+    LOGGER.trace("\n\t\tMapper: map: company: {}\n\t\tTO: companyDto: {}",company, companyDto);
     return companyDto;
   }
 
@@ -43,7 +43,7 @@ public class CompanyMapper {
 
     Company company = new Company(companyDto.getId(), companyDto.getName());
 
-    LOGGER.debug("\n\t\tMapper: map: companyDto: {}\n\t\tTO: company: {}", companyDto,company);
+    LOGGER.trace("\n\t\tMapper: map: companyDto: {}\n\t\tTO: company: {}", companyDto,company);
 
     return company;
   }
@@ -61,8 +61,13 @@ public class CompanyMapper {
     List<CompanyDto> companyDtos = new ArrayList<CompanyDto>();
     companies.parallelStream().forEachOrdered(c -> companyDtos.add(toCompanyDto(c)));
 
-    LOGGER.debug(
-        "\n\t\tMapper: map: List<Company>:{}\n\t\tTO: companyDtos: {}" ,companies,companyDtos);
+    // Whole lists only at TRACE, their formatting would dominate the request at DEBUG
+    if (LOGGER.isTraceEnabled()) {
+      LOGGER.trace(
+          "\n\t\tMapper: map: List<Company>:{}\n\t\tTO: companyDtos: {}", companies, companyDtos);
+    } else {
+      LOGGER.debug("Mapper: map: {} companies TO companyDtos", companyDtos.size());
+    }
 
     return companyDtos;
   }
@@ -2,14 +2,17 @@ package com.excilys.cdb.mappers;
 
 import com.excilys.cdb.dtos.CompanyDto;
 import com.excilys.cdb.dtos.ComputerDto;
+import com.excilys.cdb.dtos.ComputerDtoDates;
 import com.excilys.cdb.models.Company;
 import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
 import com.excilys.cdb.utils.DateFormatManager;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -39,12 +42,40 @@ public class ComputerMapper {
 
     long id = computer.getId();
     String computerName = computer.getName();
-    String introStr = DateFormatManager.toLocalDateStringFormat(computer.getIntroduced());
-    String discStr = DateFormatManager.toLocalDateStringFormat(computer.getDiscontinued());
+    DateFormatManager dateFormats = DateFormatManager.get();
+    String introStr = dateFormats.toLocalDateStringFormat(computer.getIntroduced());
+    String discStr = dateFormats.toLocalDateStringFormat(computer.getDiscontinued());
     CompanyDto companyDto = CompanyMapper.toCompanyDto(computer.getCompany());
 
     ComputerDto computerDto = new ComputerDto(id, computerName, introStr, discStr, companyDto);
-    LOGGER.debug("\n\t\tMapper: map: computer: {}\n\t\tTO: ComputerDto: {}", computer, computerDto);
+    computerDto.setVersion(computer.getVersion());
+    LOGGER.trace("\n\t\tMapper: map: computer: {}\n\t\tTO: ComputerDto: {}", computer, computerDto);
+
+    return computerDto;
+  }
+
+  /**
+   * Map a flat ComputerView to a ComputerDTO.
+   * 
+   * @param computer ComputerView to map
+   * @return related ComputerDTO
+   */
+  public static ComputerDto toComputerDto(ComputerView computer) {
+
+    if (computer == null) {
+      return null;
+    }
+
+    DateFormatManager dateFormats = DateFormatManager.get();
+    String introStr = dateFormats.toLocalDateStringFormat(computer.getIntroduced());
+    String discStr = dateFormats.toLocalDateStringFormat(computer.getDiscontinued());
+    CompanyDto companyDto = computer.getCompanyId() == null ? null
+        : new CompanyDto(computer.getCompanyId(), computer.getCompanyName());
+
+    ComputerDto computerDto =
+        new ComputerDto(computer.getId(), computer.getName(), introStr, discStr, companyDto);
+    LOGGER.trace("\n\t\tMapper: map: computerView: {}\n\t\tTO: ComputerDto: {}", computer,
+        computerDto);
 
     return computerDto;
   }
@@ -76,7 +107,9 @@ public class ComputerMapper {
     ComputerDto computerDto =
         new ComputerDto(id, nameStr, introducedStr, discontinuedStr, companyDto);
 
-    LOGGER.debug("\n\t\tMapper: map: request: {}\n\t\tTO: ComputerDto: {}", request, computerDto);
+    // The request itself prints as an opaque container object
+    LOGGER.debug("\n\t\tMapper: map: request: {}\n\t\tTO: ComputerDto: {}", request.getRequestURI(),
+        computerDto);
 
     return computerDto;
   }
@@ -94,23 +127,28 @@ public class ComputerMapper {
     List<ComputerDto> computerDtos = new ArrayList<ComputerDto>();
     computers.stream().forEachOrdered(c -> computerDtos.add(toComputerDto(c)));
 
-    LOGGER.debug("\n\t\tMapper: Map: List<Computer>: {}\n\t\tTO: List<ComputerDto>: {}", computers,
-        computerDtos);
+    // Whole lists only at TRACE, their formatting would dominate the request at DEBUG
+    if (LOGGER.isTraceEnabled()) {
+      LOGGER.trace("\n\t\tMapper: Map: List<Computer>: {}\n\t\tTO: List<ComputerDto>: {}",
+          computers, computerDtos);
+    } else {
+      LOGGER.debug("Mapper: map: {} computers TO computerDtos", computerDtos.size());
+    }
 
     return computerDtos;
   }
 
   /**
-   * Convert computer to computerDto page.
+   * Convert computer view to computerDto page.
    *
-   * @param computerPage the computer page
+   * @param computerPage the computer view page
    * @return the page
    */
-  public static Page<ComputerDto> toComputerDtoPage(Page<Computer> computerPage) {
+  public static Page<ComputerDto> toComputerDtoPage(Page<ComputerView> computerPage) {
 
-    Converter<Computer, ComputerDto> conv = new Converter<Computer, ComputerDto>() {
+    Converter<ComputerView, ComputerDto> conv = new Converter<ComputerView, ComputerDto>() {
       @Override
-      public ComputerDto convert(Computer computer) {
+      public ComputerDto convert(ComputerView computer) {
         return toComputerDto(computer);
       }
     };
@@ -118,6 +156,24 @@ public class ComputerMapper {
     return computerPage.map(conv);
   }
 
+  /**
+   * Convert computer view to computerDto slice.
+   *
+   * @param computerSlice the computer view slice
+   * @return the slice
+   */
+  public static Slice<ComputerDto> toComputerDtoSlice(Slice<ComputerView> computerSlice) {
+
+    Converter<ComputerView, ComputerDto> conv = new Converter<ComputerView, ComputerDto>() {
+      @Override
+      public ComputerDto convert(ComputerView computer) {
+        return toComputerDto(computer);
+      }
+    };
+
+    return computerSlice.map(conv);
+  }
+
   /**
    * Map a ComputerDTO to a Computer.
    *
@@ -130,12 +186,17 @@ public class ComputerMapper {
     }
     long id = computerDto.getId();
     String computerName = computerDto.getName();
-    LocalDateTime intro = DateFormatManager.parseLocal(computerDto.getIntroduced());
-    LocalDateTime disc = DateFormatManager.parseLocal(computerDto.getDiscontinued());
+    // Reuse the dates parsed by validation if any
+    ComputerDtoDates dates = computerDto.parsedDates();
+    LocalDateTime intro = dates != null ? dates.getIntroduced()
+        : DateFormatManager.get().parseLocal(computerDto.getIntroduced());
+    LocalDateTime disc = dates != null ? dates.getDiscontinued()
+        : DateFormatManager.get().parseLocal(computerDto.getDiscontinued());
     Company company = CompanyMapper.toCompany(computerDto.getCompany());
     Computer computer = new Computer(id, computerName, company, disc, intro);
+    computer.setVersion(computerDto.getVersion());
 
-    LOGGER.debug("\n\t\tMapper: map: computerDto: {}\n\t\tTO: computer: {}", computerDto, computer);
+    LOGGER.trace("\n\t\tMapper: map: computerDto: {}\n\t\tTO: computer: {}", computerDto, computer);
 
     return computer;
   }
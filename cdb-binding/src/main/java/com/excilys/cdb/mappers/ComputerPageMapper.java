@@ -2,10 +2,19 @@ package com.excilys.cdb.mappers;
 
 import com.excilys.cdb.dtos.ComputerDto;
 import com.excilys.cdb.dtos.ComputerPageDto;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.KeysetCursor;
+import com.excilys.cdb.models.OrderBy;
+import com.excilys.cdb.models.QueryPageParameter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+
+import java.util.List;
 
 /**
  * Manage to initialize a ComputerPageDTO instance.
@@ -26,7 +35,59 @@ public class ComputerPageMapper {
   public static ComputerPageDto toComputerPageDto(String search, Page<ComputerDto> page) {
 
     ComputerPageDto computerPageDto = new ComputerPageDto(search, page);
-    LOGGER.debug("\n\t\tMapper: map: page: {} \n\t\tTO:{}", page, computerPageDto);
+    LOGGER.trace("\n\t\tMapper: map: page: {} \n\t\tTO:{}", page, computerPageDto);
+
+    return computerPageDto;
+  }
+
+  /**
+   * Initialize a ComputerPageDTO from a slice, without page count.
+   * 
+   * @param slice result search slice
+   * @return related ComputerPageDto
+   */
+  public static ComputerPageDto toComputerPageDto(String search, Slice<ComputerDto> slice) {
+
+    ComputerPageDto computerPageDto = new ComputerPageDto(search, slice);
+    LOGGER.trace("\n\t\tMapper: map: slice: {} \n\t\tTO:{}", slice, computerPageDto);
+
+    return computerPageDto;
+  }
+
+  /**
+   * Initialize a ComputerPageDTO from a keyset slice, with the cursors to its neighbours.
+   *
+   * @param qp query parameters in keyset mode
+   * @param slice result search slice, hasNext telling if there are more computers in the walked
+   *        direction
+   * @return related ComputerPageDto
+   */
+  public static ComputerPageDto toComputerPageDto(QueryPageParameter qp,
+      Slice<ComputerView> slice) {
+
+    ComputerPageDto computerPageDto =
+        new ComputerPageDto(qp.getSearch(), ComputerMapper.toComputerDtoSlice(slice));
+
+    List<ComputerView> computers = slice.getContent();
+    KeysetCursor cursor = qp.getCursor();
+    boolean backward = cursor != null && cursor.isBackward();
+    if (!computers.isEmpty()) {
+      Order order = slice.getSort().iterator().next();
+      OrderBy orderBy = OrderBy.valueOf(order.getProperty());
+      Direction direction = order.getDirection();
+
+      if (backward || slice.hasNext()) {
+        computerPageDto.setNextCursor(
+            KeysetCursor.after(orderBy, direction, computers.get(computers.size() - 1)).encode());
+      }
+      if (backward ? slice.hasNext() : cursor != null) {
+        computerPageDto.setPreviousCursor(
+            KeysetCursor.before(orderBy, direction, computers.get(0)).encode());
+      }
+    }
+    computerPageDto.setHasNext(computerPageDto.getNextCursor() != null);
+
+    LOGGER.trace("\n\t\tMapper: map: keyset slice: {} \n\t\tTO:{}", slice, computerPageDto);
 
     return computerPageDto;
   }
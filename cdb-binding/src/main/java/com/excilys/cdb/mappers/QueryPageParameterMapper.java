@@ -1,5 +1,6 @@
 package com.excilys.cdb.mappers;
 
+import com.excilys.cdb.models.KeysetCursor;
 import com.excilys.cdb.models.OrderBy;
 import com.excilys.cdb.models.QueryPageParameter;
 
@@ -75,6 +76,35 @@ public class QueryPageParameterMapper {
     return qp;
   }
 
+  /**
+   * To query page parameter in keyset mode. The ordering of a cursor wins over the passed one,
+   * a cursor being only valid for the ordering it was built with.
+   *
+   * @param cursorStr the encoded cursor, null or empty for the first page
+   * @param pageSize the page size
+   * @param searchStr the search str
+   * @param orderBy the order by
+   * @param order the order
+   * @return the query page parameter
+   */
+  public static QueryPageParameter toKeysetQueryPageParameter(String cursorStr, int pageSize,
+      String searchStr, OrderBy orderBy, Direction order) {
+
+    KeysetCursor cursor = null;
+    if (cursorStr != null && !cursorStr.isEmpty()) {
+      cursor = KeysetCursor.decode(cursorStr);
+      orderBy = cursor.getOrderBy();
+      order = cursor.getDirection();
+    }
+
+    QueryPageParameter qp =
+        new QueryPageParameter(pageSize, order, orderBy.toString(), searchStr, cursor);
+    LOGGER.debug(
+        "\n\t\tMapper: Map: [cursor:{} , size:{}, search:{}, orderby:{} , order:{}]\n\t\tTO:{}",
+        cursorStr, pageSize, searchStr, orderBy, order, qp);
+    return qp;
+  }
+
   /**
    * Creates the querypageParameter to send to services.
    *
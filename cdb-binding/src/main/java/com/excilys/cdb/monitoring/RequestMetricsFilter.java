@@ -0,0 +1,54 @@
+package com.excilys.cdb.monitoring;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Time every HTTP request into the requestMetrics registry, under its method and the pattern of
+ * the handler which served it, such as "GET /computer/{id}", rather than its URL, to keep a
+ * bounded number of names. Requests answered before reaching a handler, by the security filters
+ * for instance, are recorded as unmapped. A request throwing or answered with a 5xx status
+ * counts as an error.
+ *
+ * @author Aurelien.R
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+  // Constants
+  private static final String UNMAPPED = "unmapped";
+
+  // Attributes
+  private MetricsRegistry requestMetrics;
+
+  // Methods
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+
+    long start = requestMetrics.start();
+    boolean error = true;
+    try {
+      filterChain.doFilter(request, response);
+      error = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+    } finally {
+      requestMetrics.stop(handlerOf(request), start, error);
+    }
+  }
+
+  private static String handlerOf(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED);
+  }
+
+  // Setters
+  public void setRequestMetrics(MetricsRegistry requestMetrics) {
+    this.requestMetrics = requestMetrics;
+  }
+}
@@ -0,0 +1,138 @@
+package com.excilys.cdb.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Collect the {@link RequestStatistics} of every request, SQL statements, rows, JDBC time and
+ * entity loads, and report them in an access log line on the ".access" logger and in the
+ * {@link #HEADER} response header.
+ *
+ * <p>The body is not buffered, streamed responses such as exports are written as they are
+ * produced. The header is set when the body is started, a redirect or an error sent, so it holds
+ * the work done until then, usually the whole controller. The access log line holds the work of
+ * the whole request, view rendering and streaming included.
+ *
+ * <p>Disabled in the prod profile, where it only calls the chain.
+ *
+ * @author Aurelien.R
+ */
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+  // Logger
+  private static final Logger ACCESS_LOGGER =
+      LoggerFactory.getLogger(RequestStatisticsFilter.class.getName() + ".access");
+
+  // Constants
+  public static final String HEADER = "X-Request-Statistics";
+  private static final String PROD_PROFILE = "prod";
+
+  // Configuration
+  private String profile = "dev";
+
+  // Methods
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+
+    if (PROD_PROFILE.equals(profile)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    RequestStatistics statistics = RequestStatistics.start();
+    StatisticsHeaderResponse wrapper = new StatisticsHeaderResponse(response, statistics);
+    long start = System.nanoTime();
+    try {
+      filterChain.doFilter(request, wrapper);
+    } finally {
+      RequestStatistics.stop();
+      long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      // Responses without body
+      wrapper.setStatisticsHeader();
+      ACCESS_LOGGER.info("{} {} {} {} ms {}", request.getMethod(), request.getRequestURI(),
+          response.getStatus(), millis, statistics);
+    }
+  }
+
+  /**
+   * Response setting the statistics header once, before anything can commit it.
+   */
+  private static class StatisticsHeaderResponse extends HttpServletResponseWrapper {
+
+    private final RequestStatistics statistics;
+    private boolean headerSet;
+
+    StatisticsHeaderResponse(HttpServletResponse response, RequestStatistics statistics) {
+      super(response);
+      this.statistics = statistics;
+    }
+
+    void setStatisticsHeader() {
+      if (!headerSet) {
+        headerSet = true;
+        if (!isCommitted()) {
+          setHeader(HEADER, statistics.toString());
+        }
+      }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      setStatisticsHeader();
+      return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      setStatisticsHeader();
+      return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      setStatisticsHeader();
+      super.flushBuffer();
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+      setStatisticsHeader();
+      super.sendRedirect(location);
+    }
+
+    @Override
+    public void sendError(int status) throws IOException {
+      setStatisticsHeader();
+      super.sendError(status);
+    }
+
+    @Override
+    public void sendError(int status, String message) throws IOException {
+      setStatisticsHeader();
+      super.sendError(status, message);
+    }
+  }
+
+  // Setters
+  /**
+   * Profile of the application, the statistics being collected unless it is prod.
+   *
+   * @param profile the profile
+   */
+  public void setProfile(String profile) {
+    this.profile = profile;
+  }
+}
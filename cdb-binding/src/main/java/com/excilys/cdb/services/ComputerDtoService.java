@@ -1,16 +1,21 @@
 package com.excilys.cdb.services;
 
 import com.excilys.cdb.dtos.ComputerDto;
+import com.excilys.cdb.dtos.ComputerPageDto;
 import com.excilys.cdb.mappers.ComputerMapper;
+import com.excilys.cdb.mappers.ComputerPageMapper;
 import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
 import com.excilys.cdb.models.QueryPageParameter;
 import com.excilys.cdb.validators.utils.ComputerDtoValidator;
 import com.excilys.cdb.validators.utils.QueryPageParameterValidator;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.validation.ValidationException;
@@ -42,12 +47,48 @@ public class ComputerDtoService {
     QueryPageParameterValidator.validate(qp);
 
     // Retrieve computer
-    Page<Computer> computerPage = computerService.findByQuery(qp);
+    Page<ComputerView> computerPage = computerService.findByQuery(qp);
 
     // Map
     return ComputerMapper.toComputerDtoPage(computerPage);
   }
 
+  /**
+   * Find computers based on QueryPageParameter criterias, without counting them.
+   *
+   * @param qp          query parameter to search with
+   * @return Slice of computers matching
+   */
+  public Slice<ComputerDto> findSliceByQuery(QueryPageParameter qp) {
+
+    // Validate queryParameter
+    QueryPageParameterValidator.validate(qp);
+
+    // Retrieve computer
+    Slice<ComputerView> computerSlice = computerService.findSliceByQuery(qp);
+
+    // Map
+    return ComputerMapper.toComputerDtoSlice(computerSlice);
+  }
+
+  /**
+   * Find computers from the cursor of a keyset QueryPageParameter.
+   *
+   * @param qp          query parameter in keyset mode
+   * @return page of computers matching, with the cursors to the previous and next pages
+   */
+  public ComputerPageDto findByKeyset(QueryPageParameter qp) {
+
+    // Validate queryParameter
+    QueryPageParameterValidator.validate(qp);
+
+    // Retrieve computer
+    Slice<ComputerView> computerSlice = computerService.findByKeyset(qp);
+
+    // Map
+    return ComputerPageMapper.toComputerPageDto(qp, computerSlice);
+  }
+
   /**
    * Count of total searched computer.
    *
@@ -168,4 +209,20 @@ public class ComputerDtoService {
     computerService.deleteComputer(id);
   }
 
+  /**
+   * Delete computers.
+   *
+   * @param ids the ids
+   * @return the number of computers deleted
+   * @throws ValidationException the validation exception
+   */
+  public int deleteComputers(Collection<Long> ids) {
+
+    // Validate ids
+    ids.forEach(ComputerDtoValidator::checkValidId);
+
+    // Delete computers
+    return computerService.deleteComputers(ids);
+  }
+
 }
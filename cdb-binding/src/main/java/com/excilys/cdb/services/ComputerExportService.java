@@ -0,0 +1,108 @@
+package com.excilys.cdb.services;
+
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.utils.CsvUtils;
+import com.excilys.cdb.utils.LineFormat;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Export of the whole computer catalog as csv or json lines (see {@link LineFormat}), written
+ * while the rows are read so memory does not depend on the number of computers. Exported files
+ * can be imported back by {@link ComputerImportService}.
+ *
+ * @author Aurelien.R
+ */
+@Service
+public class ComputerExportService {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComputerExportService.class);
+
+  // Constants
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+  // Services
+  @Autowired
+  private ComputerService computerService;
+
+  // Methods
+  /**
+   * Write every computer to a stream, the stream is flushed but not closed.
+   *
+   * @param out stream to write to, UTF-8 encoded
+   * @param format format of the lines
+   * @return number of computers exported
+   * @throws IOException issue writing the stream
+   */
+  public long exportComputers(OutputStream out, LineFormat format) throws IOException {
+
+    LOGGER.info("Export: start exporting computers as {} lines", format);
+    long start = System.currentTimeMillis();
+
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    long count;
+    try {
+      if (format == LineFormat.csv) {
+        writer.write(LineFormat.CSV_HEADER);
+        writer.write('\n');
+        count = computerService.exportAll(computer -> writeCsv(writer, computer));
+        writer.flush();
+      } else {
+        JsonGenerator generator = JSON_MAPPER.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        count = computerService.exportAll(computer -> writeJson(generator, computer));
+        generator.flush();
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    LOGGER.info("Export: {} computers exported in {} ms", count,
+        System.currentTimeMillis() - start);
+    return count;
+  }
+
+  private static void writeCsv(Writer writer, ComputerView computer) {
+    try {
+      writer.write(CsvUtils.toLine(computer.getName(),
+          LineFormat.formatDate(computer.getIntroduced()),
+          LineFormat.formatDate(computer.getDiscontinued()),
+          computer.getCompanyName()));
+      writer.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeJson(JsonGenerator generator, ComputerView computer) {
+    try {
+      generator.writeStartObject();
+      generator.writeStringField("name", computer.getName());
+      generator.writeStringField("introduced",
+          LineFormat.formatDate(computer.getIntroduced()));
+      generator.writeStringField("discontinued",
+          LineFormat.formatDate(computer.getDiscontinued()));
+      generator.writeStringField("company", computer.getCompanyName());
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
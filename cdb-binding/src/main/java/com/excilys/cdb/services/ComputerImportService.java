@@ -0,0 +1,205 @@
+package com.excilys.cdb.services;
+
+import com.excilys.cdb.dtos.ImportReportDto;
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.utils.CsvUtils;
+import com.excilys.cdb.utils.DateFormatManagerException;
+import com.excilys.cdb.utils.LineFormat;
+import com.excilys.cdb.validators.ValidatorException;
+import com.excilys.cdb.validators.utils.ComputerValidator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import of computers streamed from csv or json lines (see {@link LineFormat}, the csv
+ * header line being optional), written by chunks of import.chunkSize computers, each in its own
+ * transaction.
+ *
+ * @author Aurelien.R
+ */
+@Service
+public class ComputerImportService {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComputerImportService.class);
+
+  // Constants
+  private static final String CSV_HEADER_FIRST_FIELD = "name";
+  private static final int MAX_REPORTED_ERRORS = 100;
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+  // Services
+  @Autowired
+  private ComputerService computerService;
+  @Autowired
+  private CompanyService companyService;
+
+  // Configuration
+  @Value("${import.chunkSize:1000}")
+  private int chunkSize;
+
+  // Methods
+  /**
+   * Import the computers of a stream, invalid lines being rejected and reported.
+   *
+   * @param in stream to read, UTF-8 encoded
+   * @param format format of the lines
+   * @return report of the import
+   * @throws IOException issue reading the stream
+   */
+  public ImportReportDto importComputers(InputStream in, LineFormat format) throws IOException {
+
+    LOGGER.info("Import: start importing computers from {} lines", format);
+
+    ImportReportDto report = new ImportReportDto();
+    long start = System.currentTimeMillis();
+    Map<String, Company> companies = loadCompanies();
+    List<Computer> chunk = new ArrayList<>(chunkSize);
+
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = readRecord(reader, format)) != null) {
+        long lineNumber = report.linesRead + 1;
+        report.linesRead += lineCount(line);
+        if (line.trim().isEmpty() || isHeader(line, format, lineNumber)) {
+          continue;
+        }
+
+        // Map and validate line
+        try {
+          Computer computer = format == LineFormat.csv ? fromCsv(line, companies)
+              : fromJson(line, companies);
+          ComputerValidator.validate(computer);
+          chunk.add(computer);
+        } catch (ValidatorException | DateFormatManagerException | IllegalArgumentException
+            | IOException e) {
+          reject(report, "Line " + lineNumber + ": " + e.getMessage());
+        }
+
+        // Write full chunk
+        if (chunk.size() >= chunkSize) {
+          report.imported += computerService.createComputers(chunk);
+          chunk.clear();
+          logProgress(report, start);
+        }
+      }
+    }
+
+    // Write remaining computers
+    if (!chunk.isEmpty()) {
+      report.imported += computerService.createComputers(chunk);
+    }
+    report.durationMs = System.currentTimeMillis() - start;
+
+    LOGGER.info("Import: done, {}", report);
+    return report;
+  }
+
+  /**
+   * Companies by lower case name, loaded once per import.
+   */
+  private Map<String, Company> loadCompanies() {
+    Map<String, Company> companies = new HashMap<>();
+    for (Company company : companyService.findAll()) {
+      if (company.getName() != null) {
+        companies.putIfAbsent(company.getName().toLowerCase(Locale.ROOT), company);
+      }
+    }
+    return companies;
+  }
+
+  /**
+   * Next csv record, quoted fields spanning lines, or next json line.
+   */
+  private static String readRecord(BufferedReader reader, LineFormat format)
+      throws IOException {
+    return format == LineFormat.csv ? CsvUtils.readRecord(reader) : reader.readLine();
+  }
+
+  private static long lineCount(String record) {
+    long count = 1;
+    for (int i = record.indexOf('\n'); i >= 0; i = record.indexOf('\n', i + 1)) {
+      count++;
+    }
+    return count;
+  }
+
+  private static boolean isHeader(String line, LineFormat format, long lineNumber) {
+    return format == LineFormat.csv && lineNumber == 1
+        && CsvUtils.parseLine(line).get(0).trim().equalsIgnoreCase(CSV_HEADER_FIRST_FIELD);
+  }
+
+  private static Computer fromCsv(String line, Map<String, Company> companies) {
+    List<String> fields = CsvUtils.parseLine(line);
+    return toComputer(fields.get(0), field(fields, 1), field(fields, 2), field(fields, 3),
+        companies);
+  }
+
+  private static Computer fromJson(String line, Map<String, Company> companies)
+      throws IOException {
+    JsonNode node = JSON_MAPPER.readTree(line);
+    if (node == null || !node.isObject()) {
+      throw new IllegalArgumentException("Not a json object");
+    }
+    return toComputer(text(node, "name"), text(node, "introduced"), text(node, "discontinued"),
+        text(node, "company"), companies);
+  }
+
+  private static Computer toComputer(String name, String introduced, String discontinued,
+      String companyName, Map<String, Company> companies) {
+
+    // Resolve company
+    Company company = null;
+    if (companyName != null && !companyName.trim().isEmpty()) {
+      company = companies.get(companyName.trim().toLowerCase(Locale.ROOT));
+      if (company == null) {
+        throw new ValidatorException("Unknown company: " + companyName);
+      }
+    }
+
+    return new Computer(0, name == null ? null : name.trim(), company,
+        LineFormat.parseDate(discontinued), LineFormat.parseDate(introduced));
+  }
+
+  private static String field(List<String> fields, int index) {
+    return index < fields.size() ? fields.get(index) : null;
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  private static void reject(ImportReportDto report, String error) {
+    report.rejected++;
+    if (report.errors.size() < MAX_REPORTED_ERRORS) {
+      report.errors.add(error);
+    }
+  }
+
+  private static void logProgress(ImportReportDto report, long start) {
+    long elapsed = Math.max(1, System.currentTimeMillis() - start);
+    LOGGER.info("Import: {} lines read, {} computers imported, {} rejected ({} computers/s)",
+        report.linesRead, report.imported, report.rejected, report.imported * 1000 / elapsed);
+  }
+}
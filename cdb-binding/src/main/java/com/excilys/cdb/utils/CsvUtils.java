@@ -0,0 +1,133 @@
+package com.excilys.cdb.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read and write records of comma separated values (RFC 4180), fields being quoted with double
+ * quotes when they contain a comma, a quote or a line break. A record holding a line break spans
+ * several lines, read back by {@link #readRecord(BufferedReader)}. Line breaks in fields are
+ * written and read as "\n", "\r\n" and "\r" being normalized.
+ *
+ * @author Aurelien.R
+ */
+public class CsvUtils {
+
+  // Constants
+  private static final char SEPARATOR = ',';
+  private static final char QUOTE = '"';
+  private static final char LINE_BREAK = '\n';
+
+  private CsvUtils() {
+  }
+
+  /**
+   * Read the next record, joining the lines of quoted fields that hold line breaks.
+   *
+   * @param reader reader positioned at the start of a record
+   * @return the record, its line breaks being "\n", or null at the end of the reader
+   * @throws IOException issue reading
+   */
+  public static String readRecord(BufferedReader reader) throws IOException {
+
+    String line = reader.readLine();
+    if (line == null || !isQuoteOpen(line, false)) {
+      return line;
+    }
+
+    // Quoted field left open, append next lines until it is closed or the reader ends
+    StringBuilder record = new StringBuilder(line);
+    boolean quoted = true;
+    while (quoted && (line = reader.readLine()) != null) {
+      record.append(LINE_BREAK).append(line);
+      quoted = isQuoteOpen(line, true);
+    }
+    return record.toString();
+  }
+
+  /**
+   * Split a csv record into its fields.
+   *
+   * @param line record to split
+   * @return fields of the line, unquoted, empty fields being empty strings
+   * @throws IllegalArgumentException if a quoted field is not closed
+   */
+  public static List<String> parseLine(String line) {
+
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c != QUOTE) {
+          field.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+          field.append(QUOTE);
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == QUOTE) {
+        quoted = true;
+      } else if (c == SEPARATOR) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+
+    if (quoted) {
+      throw new IllegalArgumentException("Unclosed quote in line: " + line);
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  /**
+   * Join fields into a csv record, quoting the ones that need it.
+   *
+   * @param fields fields of the record, null fields being written empty
+   * @return the csv record, without trailing line break
+   */
+  public static String toLine(String... fields) {
+
+    StringBuilder line = new StringBuilder();
+    for (int i = 0; i < fields.length; i++) {
+      if (i > 0) {
+        line.append(SEPARATOR);
+      }
+      String field = fields[i];
+      if (field == null) {
+        continue;
+      }
+      if (field.indexOf('\r') >= 0) {
+        field = field.replace("\r\n", "\n").replace('\r', LINE_BREAK);
+      }
+      if (field.indexOf(SEPARATOR) >= 0 || field.indexOf(QUOTE) >= 0
+          || field.indexOf(LINE_BREAK) >= 0) {
+        line.append(QUOTE).append(field.replace("\"", "\"\"")).append(QUOTE);
+      } else {
+        line.append(field);
+      }
+    }
+    return line.toString();
+  }
+
+  /**
+   * Whether a quoted field is open at the end of a line, given whether one was at its start,
+   * escaped quotes counting twice.
+   */
+  private static boolean isQuoteOpen(String line, boolean quoted) {
+    for (int i = 0; i < line.length(); i++) {
+      if (line.charAt(i) == QUOTE) {
+        quoted = !quoted;
+      }
+    }
+    return quoted;
+  }
+}
@@ -1,37 +1,81 @@
 package com.excilys.cdb.utils;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.stereotype.Component;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Date;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
 
 /**
  * Manage to parse, validate format string.
  *
+ * <p>Formatters are immutable and thread safe, they are built once per date format, and the
+ * localized date format is resolved once per locale. Parsing is strict: the date must match the
+ * whole format and exist in the calendar.
+ *
+ * <p>Localized formats are read from the message source of the application context, with the
+ * locale of the current request. The manager of the context is handed to the static mappers and
+ * validators when the context starts, see {@link #get()}.
+ *
  * @author AurelienR
  */
 @Component
 public class DateFormatManager {
 
   private static final String LOCAL_DATE_PROPERTY_KEY = "property.dateFormat";
-  private static final String SERVLET_CONTEXT_PATH = "/spring/application-context.xml";
 
-  private static final MessageSource messageSource;
+  // Registry of the formatters, shared as they do not depend on the context
+  private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+  // Manager of the started context
+  private static volatile DateFormatManager started;
+
+  // Attributes
+  private final MessageSource messageSource;
+  private final Map<Locale, String> localDateFormats = new ConcurrentHashMap<>();
+
+  /**
+   * Instantiates a manager reading the localized formats from a message source.
+   *
+   * @param messageSource message source of the application context
+   */
+  @Autowired
+  public DateFormatManager(MessageSource messageSource) {
+    this.messageSource = messageSource;
+  }
+
+  /**
+   * Hand this manager to the static mappers and validators, once created by the context.
+   */
+  @PostConstruct
+  public void start() {
+    started = this;
+  }
 
-  static {
-    try (ClassPathXmlApplicationContext ctx =
-        new ClassPathXmlApplicationContext(SERVLET_CONTEXT_PATH)) {
-      messageSource = (MessageSource) ctx.getBean("messageSource", MessageSource.class);
-      ctx.close();
+  /**
+   * Manager of the started application context, for the static mappers and validators.
+   *
+   * @return the manager
+   * @throws IllegalStateException if no manager was started
+   */
+  public static DateFormatManager get() {
+    DateFormatManager manager = started;
+    if (manager == null) {
+      throw new IllegalStateException("No DateFormatManager started, localized dates need the "
+          + "message source of an application context");
     }
+    return manager;
   }
 
   /**
@@ -49,8 +93,7 @@ public class DateFormatManager {
     }
 
     // Format
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat);
-    return date.format(formatter);
+    return getFormatter(dateFormat).format(date);
   }
 
   /**
@@ -70,11 +113,9 @@ public class DateFormatManager {
     }
 
     // Try parse
-    Date date;
     try {
-      date = new SimpleDateFormat(dateFormat).parse(dateStr);
-      return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
-    } catch (ParseException e) {
+      return LocalDateTime.parse(dateStr.trim(), getFormatter(dateFormat));
+    } catch (DateTimeParseException e) {
       throw new DateFormatManagerException(
           "Cannot parse: " + dateStr + " with format: " + dateFormat, e);
     }
@@ -90,24 +131,51 @@ public class DateFormatManager {
    */
   public static boolean isValidDateString(String dateStr, String dateFormatStr) {
 
-    SimpleDateFormat dateFormat = new SimpleDateFormat(dateFormatStr);
-    dateFormat.setLenient(false);
     try {
-      dateFormat.parse(dateStr.trim());
-    } catch (ParseException pe) {
+      LocalDateTime.parse(dateStr.trim(), getFormatter(dateFormatStr));
+    } catch (DateTimeParseException e) {
       return false;
     }
     return true;
   }
 
   /**
-   * Gets the local date format.
+   * Gets the local date format of the current locale.
+   *
+   * @return the local date format
+   */
+  public String getLocalDateFormat() {
+    return getLocalDateFormat(LocaleContextHolder.getLocale());
+  }
+
+  /**
+   * Gets the local date format of a locale, resolved on first use.
    *
+   * @param locale locale of the format
    * @return the local date format
    */
-  public static String getLocalDateFormat() {
-    Locale local = LocaleContextHolder.getLocale();
-    return messageSource.getMessage(LOCAL_DATE_PROPERTY_KEY, null, local);
+  public String getLocalDateFormat(Locale locale) {
+    return localDateFormats.computeIfAbsent(locale,
+        key -> messageSource.getMessage(LOCAL_DATE_PROPERTY_KEY, null, key));
+  }
+
+  /**
+   * Gets the formatter of a date format, built on first use. Date only formats give dates at
+   * start of day.
+   *
+   * @param dateFormat date format pattern
+   * @return the related strict formatter
+   * @throws IllegalArgumentException if the date format is not a valid pattern
+   */
+  public static DateTimeFormatter getFormatter(String dateFormat) {
+    return FORMATTERS.computeIfAbsent(dateFormat,
+        pattern -> new DateTimeFormatterBuilder().appendPattern(pattern)
+            .parseDefaulting(ChronoField.ERA, 1)
+            .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+            .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+            .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+            .toFormatter(Locale.ROOT)
+            .withResolverStyle(ResolverStyle.STRICT));
   }
 
   /**
@@ -116,7 +184,7 @@ public class DateFormatManager {
    * @param date the date to stringify
    * @return the string formatted date
    */
-  public static String toLocalDateStringFormat(LocalDateTime date) {
+  public String toLocalDateStringFormat(LocalDateTime date) {
     String dateFormat = getLocalDateFormat();
     return toDateString(date, dateFormat);
   }
@@ -127,7 +195,7 @@ public class DateFormatManager {
    * @param dateStr the date string to parse
    * @return related LocalDateTime object
    */
-  public static LocalDateTime parseLocal(String dateStr) {
+  public LocalDateTime parseLocal(String dateStr) {
     String dateFormat = getLocalDateFormat();
     return parse(dateStr, dateFormat);
   }
@@ -138,7 +206,7 @@ public class DateFormatManager {
    * @param dateStr date string to parse
    * @return true, if is valid local date string
    */
-  public static boolean isValidLocalDateString(String dateStr) {
+  public boolean isValidLocalDateString(String dateStr) {
     String dateFormat = getLocalDateFormat();
     return isValidDateString(dateStr, dateFormat);
   }
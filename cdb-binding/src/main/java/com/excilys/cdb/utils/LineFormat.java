@@ -0,0 +1,44 @@
+package com.excilys.cdb.utils;
+
+import java.time.LocalDateTime;
+
+/**
+ * Format of the computer files imported and exported line by line: csv lines
+ * "name,introduced,discontinued,company" under a header line, or json lines (one object per
+ * line) with the same fields. Companies are given by name, dates are written with
+ * {@link #DATE_TIME_FORMAT} and read with it or with {@link #DATE_FORMAT}.
+ *
+ * @author Aurelien.R
+ */
+public enum LineFormat {
+  csv, json;
+
+  public static final String DATE_FORMAT = "yyyy-MM-dd";
+  public static final String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
+  public static final String CSV_HEADER = "name,introduced,discontinued,company";
+
+  /**
+   * Write a date of a computer file, time included.
+   *
+   * @param date date to write
+   * @return the date string, null for a null date
+   */
+  public static String formatDate(LocalDateTime date) {
+    return DateFormatManager.toDateString(date, DATE_TIME_FORMAT);
+  }
+
+  /**
+   * Read a date of a computer file, with its time or as a date only at start of day.
+   *
+   * @param dateStr date string to read
+   * @return the date, null for a null or blank string
+   * @throws DateFormatManagerException if the string matches neither format
+   */
+  public static LocalDateTime parseDate(String dateStr) {
+    String trimmed = dateStr == null ? null : dateStr.trim();
+    if (trimmed == null || trimmed.length() <= DATE_FORMAT.length()) {
+      return DateFormatManager.parse(trimmed, DATE_FORMAT);
+    }
+    return DateFormatManager.parse(trimmed, DATE_TIME_FORMAT);
+  }
+}
@@ -0,0 +1,32 @@
+package com.excilys.cdb.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Log how long each application context (root and servlet ones) took to start, and the time
+ * elapsed since the JVM started, to follow startup time of the webapps.
+ *
+ * @author Aurelien.R
+ */
+@Component
+public class StartupTimeLogger implements ApplicationListener<ContextRefreshedEvent> {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimeLogger.class);
+
+  @Override
+  public void onApplicationEvent(ContextRefreshedEvent event) {
+    ApplicationContext context = event.getApplicationContext();
+    long now = System.currentTimeMillis();
+    LOGGER.info("Startup: context {} refreshed in {} ms, {} ms since JVM start",
+        context.getDisplayName(), now - context.getStartupDate(),
+        now - ManagementFactory.getRuntimeMXBean().getStartTime());
+  }
+}
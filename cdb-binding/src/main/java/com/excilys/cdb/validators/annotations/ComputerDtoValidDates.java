@@ -9,20 +9,38 @@ import java.lang.annotation.Target;
 import javax.validation.Constraint;
 import javax.validation.Payload;
 
-@Constraint(validatedBy = { ComputerDtoDatesConsistencyValidator.class })
+/**
+ * Dates of a computerDTO match the local date format and are consistent, each date being parsed
+ * once. Format errors are reported on the introduced and discontinued fields.
+ */
+@Constraint(validatedBy = { ComputerDtoValidDatesValidator.class })
 @Target({ ElementType.TYPE })
 @Retention(value = RetentionPolicy.RUNTIME)
 @Documented
-public @interface ComputerDtoDatesConsistency {
+public @interface ComputerDtoValidDates {
 
   /**
-   * Message of the exception thrown.
+   * Message of the exception thrown on inconsistent dates.
    *
    * @return the string
    */
   String message() default "Inconsistent dates, "
       + "introduced date cannot be set after discontinued date";
 
+  /**
+   * Message of the exception thrown on invalid introduced date format.
+   *
+   * @return the string
+   */
+  String introducedMessage() default "Invalid format for introduced date";
+
+  /**
+   * Message of the exception thrown on invalid discontinued date format.
+   *
+   * @return the string
+   */
+  String discontinuedMessage() default "Invalid format for discontinued date";
+
   /**
    * Groups.
    *
@@ -36,4 +54,4 @@ public @interface ComputerDtoDatesConsistency {
    * @return the class<? extends payload>[]
    */
   Class<? extends Payload>[] payload() default {};
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.excilys.cdb.validators.annotations;
+
+import com.excilys.cdb.dtos.ComputerDto;
+import com.excilys.cdb.dtos.ComputerDtoDates;
+import com.excilys.cdb.validators.ValidatorException;
+import com.excilys.cdb.validators.utils.ComputerDtoValidator;
+
+import java.time.LocalDateTime;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+public class ComputerDtoValidDatesValidator
+    implements ConstraintValidator<ComputerDtoValidDates, ComputerDto> {
+
+  private String introducedMessage;
+  private String discontinuedMessage;
+
+  @Override
+  public void initialize(ComputerDtoValidDates constraintAnnotation) {
+    introducedMessage = constraintAnnotation.introducedMessage();
+    discontinuedMessage = constraintAnnotation.discontinuedMessage();
+  }
+
+  @Override
+  public boolean isValid(ComputerDto value, ConstraintValidatorContext context) {
+    if (value == null) {
+      return true;
+    }
+    context.disableDefaultConstraintViolation();
+
+    // Parse each date once, reporting format errors on their field
+    boolean validFormats = true;
+    LocalDateTime introduced = null;
+    LocalDateTime discontinued = null;
+    try {
+      introduced = ComputerDtoValidator.parseDate(value.getIntroduced());
+    } catch (ValidatorException e) {
+      validFormats = false;
+      addFieldViolation(context, introducedMessage, "introduced");
+    }
+    try {
+      discontinued = ComputerDtoValidator.parseDate(value.getDiscontinued());
+    } catch (ValidatorException e) {
+      validFormats = false;
+      addFieldViolation(context, discontinuedMessage, "discontinued");
+    }
+    if (!validFormats) {
+      return false;
+    }
+
+    // Check consistency, and keep the parsed dates for the mapping
+    ComputerDtoDates dates = new ComputerDtoDates(introduced, discontinued);
+    try {
+      ComputerDtoValidator.checkDateConsistency(dates);
+    } catch (ValidatorException e) {
+      context.buildConstraintViolationWithTemplate(context.getDefaultConstraintMessageTemplate())
+          .addConstraintViolation();
+      return false;
+    }
+    value.cacheParsedDates(dates);
+    return true;
+  }
+
+  private static void addFieldViolation(ConstraintValidatorContext context, String message,
+      String field) {
+    context.buildConstraintViolationWithTemplate(message).addNode(field)
+        .addConstraintViolation();
+  }
+}
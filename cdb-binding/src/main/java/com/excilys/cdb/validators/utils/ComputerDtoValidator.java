@@ -1,7 +1,9 @@
 package com.excilys.cdb.validators.utils;
 
 import com.excilys.cdb.dtos.ComputerDto;
+import com.excilys.cdb.dtos.ComputerDtoDates;
 import com.excilys.cdb.utils.DateFormatManager;
+import com.excilys.cdb.utils.DateFormatManagerException;
 import com.excilys.cdb.validators.ValidatorException;
 
 import java.time.LocalDateTime;
@@ -59,17 +61,69 @@ public class ComputerDtoValidator extends ModelValidator {
     if ((intro == null || intro.isEmpty()) && (disc != null && !disc.isEmpty())) {
       throw new ValidatorException(
           "Introduced string should be not null/empty if discontinued string is not null/empty");
-    } else if ((intro != null && !intro.isEmpty()) && (disc != null && !disc.isEmpty())
-        && (DateFormatManager.isValidLocalDateString(intro)
-            && DateFormatManager.isValidLocalDateString(disc))) {
+    } else if ((intro != null && !intro.isEmpty()) && (disc != null && !disc.isEmpty())) {
 
-      LocalDateTime introDate = DateFormatManager.parseLocal(intro);
-      LocalDateTime discDate = DateFormatManager.parseLocal(disc);
-
-      if (discDate.isBefore(introDate)) {
-        throw new ValidatorException("Introduced date should be set befored discontinued date");
+      // Parse each date once, formats are checked on their own
+      LocalDateTime introDate;
+      LocalDateTime discDate;
+      try {
+        introDate = DateFormatManager.get().parseLocal(intro);
+        discDate = DateFormatManager.get().parseLocal(disc);
+      } catch (DateFormatManagerException e) {
+        return;
       }
+      checkDateConsistency(new ComputerDtoDates(introDate, discDate));
+    }
+  }
+
+  /**
+   * Check consistency of parsed dates (introduced and discontinued).
+   *
+   * @param dates parsed dates
+   * @throws ValidatorException if issues on date consistencies
+   */
+  public static void checkDateConsistency(ComputerDtoDates dates) throws ValidatorException {
+    if (dates.getIntroduced() == null && dates.getDiscontinued() != null) {
+      throw new ValidatorException(
+          "Introduced string should be not null/empty if discontinued string is not null/empty");
+    } else if (dates.getIntroduced() != null && dates.getDiscontinued() != null
+        && dates.getDiscontinued().isBefore(dates.getIntroduced())) {
+      throw new ValidatorException("Introduced date should be set befored discontinued date");
+    }
+  }
+
+  /**
+   * Parse a date string with the local date format.
+   *
+   * @param dateStr date string to parse
+   * @return related date, null if the string is null or empty
+   * @throws ValidatorException if date string is not matching local date format
+   */
+  public static LocalDateTime parseDate(String dateStr) throws ValidatorException {
+    try {
+      return DateFormatManager.get().parseLocal(dateStr);
+    } catch (DateFormatManagerException e) {
+      throw new ValidatorException("Date " + dateStr + " is not matching date format "
+          + DateFormatManager.get().getLocalDateFormat(), e);
+    }
+  }
+
+  /**
+   * Parse introduced and discontinued dates of a computerDTO, unless already parsed by its
+   * validation, and keep them in the DTO.
+   *
+   * @param computerDto computerDTO to parse dates from
+   * @return parsed dates
+   * @throws ValidatorException if a date string is not matching local date format
+   */
+  public static ComputerDtoDates parseDates(ComputerDto computerDto) throws ValidatorException {
+    ComputerDtoDates dates = computerDto.parsedDates();
+    if (dates == null) {
+      dates = new ComputerDtoDates(parseDate(computerDto.getIntroduced()),
+          parseDate(computerDto.getDiscontinued()));
+      computerDto.cacheParsedDates(dates);
     }
+    return dates;
   }
 
   /**
@@ -79,9 +133,9 @@ public class ComputerDtoValidator extends ModelValidator {
    * @throws ValidatorException if date string is not matching HTML format
    */
   public static void checkIsValidDateFormat(String dateStr) throws ValidatorException {
-    if (!DateFormatManager.isValidLocalDateString(dateStr)) {
+    if (!DateFormatManager.get().isValidLocalDateString(dateStr)) {
       throw new ValidatorException("Date " + dateStr + " is not matching date format "
-          + DateFormatManager.getLocalDateFormat());
+          + DateFormatManager.get().getLocalDateFormat());
     }
   }
 
@@ -93,9 +147,9 @@ public class ComputerDtoValidator extends ModelValidator {
    */
   public static void checkDateFormatIfNotNull(String dateStr) throws ValidatorException {
     if (dateStr != null && !dateStr.isEmpty()) {
-      if (!DateFormatManager.isValidLocalDateString(dateStr)) {
+      if (!DateFormatManager.get().isValidLocalDateString(dateStr)) {
         throw new ValidatorException("Date " + dateStr + " is not matching date format "
-            + DateFormatManager.getLocalDateFormat());
+            + DateFormatManager.get().getLocalDateFormat());
       }
     }
   }
@@ -123,8 +177,7 @@ public class ComputerDtoValidator extends ModelValidator {
     ComputerDtoValidator.checkValidId(computerDto.getId());
     ComputerDtoValidator.checkNameNotNull(computerDto.getName());
     ComputerDtoValidator.checkNameNotEmpty(computerDto.getName());
-    checkDateConsistency(computerDto);
-    checkDateFormatIfNotNull(computerDto);
+    checkDateConsistency(parseDates(computerDto));
 
     // Validate related companyDTO
     if (computerDto.getCompany() != null) {
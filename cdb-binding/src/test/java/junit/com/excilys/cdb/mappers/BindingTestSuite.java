@@ -8,7 +8,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @RunWith(Suite.class)
-@SuiteClasses({CompanyMapperTest.class,ComputerMapperTest.class})
+@SuiteClasses({CompanyMapperTest.class,ComputerMapperTest.class,
+    QueryPageParameterMapperTest.class,CsvUtilsTest.class,DateFormatManagerTest.class,
+    RequestStatisticsFilterTest.class})
 public class BindingTestSuite {
 //  private static DbUnitManager dbUnit;
   // Logger
@@ -3,14 +3,19 @@ package junit.com.excilys.cdb.mappers;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
 import com.excilys.cdb.dtos.CompanyDto;
 import com.excilys.cdb.dtos.ComputerDto;
+import com.excilys.cdb.dtos.ComputerDtoDates;
 import com.excilys.cdb.mappers.ComputerMapper;
 import com.excilys.cdb.models.Company;
 import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.LowerBoundPage;
+import com.excilys.cdb.utils.DateFormatManager;
 import com.excilys.cdb.utils.DateFormatManagerException;
 
 import org.junit.After;
@@ -23,8 +28,12 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ComputerMapperTest {
@@ -44,9 +53,16 @@ public class ComputerMapperTest {
 
   
   // Hook methods
+  /**
+   * Dates mapped with the formats of the localization bundles.
+   */
   @BeforeClass
   public static void prepareTest() {
     LOGGER.info("---------------- START ComputerMapperTest ----------------\n");
+    ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+    messageSource.setBasename("localization/messages");
+    messageSource.setDefaultEncoding("UTF-8");
+    new DateFormatManager(messageSource).start();
   }
 
   @AfterClass
@@ -87,6 +103,25 @@ public class ComputerMapperTest {
     }
   }
 
+  /**
+   * Test toComputerDTO with a computer view, company taken from the view.
+   */
+  @Test
+  public void toComputerDtoFromViewTest() {
+    LOGGER.info(Thread.currentThread().getStackTrace()[1].getMethodName());
+
+    ComputerDto withCompany = ComputerMapper.toComputerDto(
+        new ComputerView(12L, "MacBook", null, null, 28L, "testCompany"));
+    assertEquals(12L, withCompany.getId());
+    assertEquals("MacBook", withCompany.getName());
+    assertEquals(28L, withCompany.getCompany().getId());
+    assertEquals("testCompany", withCompany.getCompany().getName());
+
+    ComputerDto withoutCompany = ComputerMapper.toComputerDto(
+        new ComputerView(13L, "Amiga", null, null, null, null));
+    assertNull(withoutCompany.getCompany());
+  }
+
   /**
    * Test toComputerDTO method with invalid computer as parameter.
    */
@@ -213,6 +248,23 @@ public class ComputerMapperTest {
     ComputerMapper.toComputer(computerDto);
   }
 
+  /**
+   * Test toComputer reuses the dates parsed by validation, until a date is set again.
+   */
+  @Test(expected = DateFormatManagerException.class)
+  public void toComputerParsedDatesTest() {
+
+    LOGGER.info(Thread.currentThread().getStackTrace()[1].getMethodName());
+
+    LocalDateTime intro = LocalDateTime.of(2016, 03, 04, 00, 00);
+    ComputerDto dto = new ComputerDto(0, "ComputerTest", "not parsed", null, null);
+    dto.cacheParsedDates(new ComputerDtoDates(intro, null));
+    assertEquals(intro, ComputerMapper.toComputer(dto).getIntroduced());
+
+    dto.setIntroduced("still not parsed");
+    ComputerMapper.toComputer(dto);
+  }
+
   /**
    * Test toComputer method with a valid computer.
    */
@@ -248,4 +300,18 @@ public class ComputerMapperTest {
     }
   }
 
+  /**
+   * Test toComputerDtoPage keeps a lower bound count a lower bound.
+   */
+  @Test
+  public void toComputerDtoPageLowerBoundTest() {
+    LOGGER.info(Thread.currentThread().getStackTrace()[1].getMethodName());
+
+    Page<ComputerDto> page = ComputerMapper.toComputerDtoPage(new LowerBoundPage<>(
+        Arrays.asList(new ComputerView(12L, "MacBook", null, null, null, null)),
+        new PageRequest(0, 1), 2));
+    assertTrue(page instanceof LowerBoundPage);
+    assertEquals(2L, page.getTotalElements());
+    assertEquals("MacBook", page.getContent().get(0).getName());
+  }
 }
@@ -0,0 +1,130 @@
+package junit.com.excilys.cdb.mappers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.excilys.cdb.utils.CsvUtils;
+import com.excilys.cdb.utils.LineFormat;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+public class CsvUtilsTest {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(CsvUtilsTest.class);
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START CsvUtilsTest ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END CsvUtilsTest ----------------\n");
+  }
+
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+  }
+
+  @After
+  public void tearDown() {
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  /**
+   * Plain fields, empty ones included.
+   */
+  @Test
+  public void parseLineTest() {
+    assertEquals(Arrays.asList("MacBook Pro", "2006-01-10", "", "Apple Inc."),
+        CsvUtils.parseLine("MacBook Pro,2006-01-10,,Apple Inc."));
+  }
+
+  /**
+   * Quoted fields keep their commas and escaped quotes.
+   */
+  @Test
+  public void parseLineQuotedTest() {
+    assertEquals(Arrays.asList("IMS 5000, \"Pro\"", "", "", "IMS Associates, Inc."),
+        CsvUtils.parseLine("\"IMS 5000, \"\"Pro\"\"\",,,\"IMS Associates, Inc.\""));
+  }
+
+  /**
+   * Written lines are read back to the same fields.
+   */
+  @Test
+  public void toLineRoundTripTest() {
+    String line = CsvUtils.toLine("IMS 5000, \"Pro\"", "1975-01-01", null, "Apple Inc.");
+    assertEquals("\"IMS 5000, \"\"Pro\"\"\",1975-01-01,,Apple Inc.", line);
+    assertEquals(Arrays.asList("IMS 5000, \"Pro\"", "1975-01-01", "", "Apple Inc."),
+        CsvUtils.parseLine(line));
+  }
+
+  /**
+   * Fields with line breaks are written on several lines and read back as one record, line
+   * breaks being normalized to "\n".
+   *
+   * @throws IOException never, the records are in memory
+   */
+  @Test
+  public void readRecordLineBreakRoundTripTest() throws IOException {
+    String file = CsvUtils.toLine("Apple II\r\nPlus", null, null, "Apple Inc.") + "\n"
+        + CsvUtils.toLine("Amiga\r500", null, null, null) + "\n"
+        + CsvUtils.toLine("ThinkPad", null, null, "Lenovo") + "\n";
+    BufferedReader reader = new BufferedReader(new StringReader(file));
+
+    assertEquals(Arrays.asList("Apple II\nPlus", "", "", "Apple Inc."),
+        CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+    assertEquals(Arrays.asList("Amiga\n500", "", "", ""),
+        CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+    assertEquals(Arrays.asList("ThinkPad", "", "", "Lenovo"),
+        CsvUtils.parseLine(CsvUtils.readRecord(reader)));
+    assertNull(CsvUtils.readRecord(reader));
+  }
+
+  /**
+   * Exported dates keep their time, and dates without time are still read.
+   */
+  @Test
+  public void dateRoundTripTest() {
+    LocalDateTime date = LocalDateTime.of(1977, 6, 10, 14, 30, 15);
+    assertEquals("1977-06-10 14:30:15", LineFormat.formatDate(date));
+    assertEquals(date, LineFormat.parseDate(LineFormat.formatDate(date)));
+    assertEquals(LocalDateTime.of(1977, 6, 10, 0, 0), LineFormat.parseDate(" 1977-06-10 "));
+    assertNull(LineFormat.parseDate(" "));
+  }
+
+  /**
+   * A quote left open reads the rest of the file as one record, rejected when parsed.
+   *
+   * @throws IOException never, the records are in memory
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void readRecordUnclosedQuoteTest() throws IOException {
+    BufferedReader reader = new BufferedReader(new StringReader("\"MacBook,,,\nThinkPad,,,\n"));
+    CsvUtils.parseLine(CsvUtils.readRecord(reader));
+  }
+
+  /**
+   * Unclosed quote.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void parseLineUnclosedQuoteTest() {
+    CsvUtils.parseLine("\"MacBook,,,");
+  }
+}
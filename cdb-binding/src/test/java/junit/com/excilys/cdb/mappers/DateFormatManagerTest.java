@@ -0,0 +1,134 @@
+package junit.com.excilys.cdb.mappers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.excilys.cdb.utils.DateFormatManager;
+import com.excilys.cdb.utils.DateFormatManagerException;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+public class DateFormatManagerTest {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(DateFormatManagerTest.class);
+
+  // Constants
+  private static final String DATE_FORMAT = "dd/MM/yyyy";
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START DateFormatManagerTest ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END DateFormatManagerTest ----------------\n");
+  }
+
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+  }
+
+  @After
+  public void tearDown() {
+    LocaleContextHolder.resetLocaleContext();
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  /**
+   * Formatted dates are parsed back at start of day.
+   */
+  @Test
+  public void parseFormatRoundTripTest() {
+    LocalDateTime date = LocalDateTime.of(2016, 3, 4, 0, 0);
+    String dateStr = DateFormatManager.toDateString(date, DATE_FORMAT);
+    assertEquals("04/03/2016", dateStr);
+    assertEquals(date, DateFormatManager.parse(dateStr, DATE_FORMAT));
+    assertNull(DateFormatManager.parse("", DATE_FORMAT));
+  }
+
+  /**
+   * Dates out of the calendar are rejected, not rolled over.
+   */
+  @Test(expected = DateFormatManagerException.class)
+  public void parseInvalidDayTest() {
+    DateFormatManager.parse("30/02/2016", DATE_FORMAT);
+  }
+
+  /**
+   * Dates must match the whole format.
+   */
+  @Test
+  public void isValidDateStringTest() {
+    assertTrue(DateFormatManager.isValidDateString(" 04/03/2016 ", DATE_FORMAT));
+    assertFalse(DateFormatManager.isValidDateString("04/03/2016 10:00", DATE_FORMAT));
+    assertFalse(DateFormatManager.isValidDateString("2016-03-04", DATE_FORMAT));
+  }
+
+  /**
+   * Formatters are built once per format.
+   */
+  @Test
+  public void formatterCachedTest() {
+    assertSame(DateFormatManager.getFormatter(DATE_FORMAT),
+        DateFormatManager.getFormatter(DATE_FORMAT));
+  }
+
+  /**
+   * Local date formats come from the message source with the current locale.
+   */
+  @Test
+  public void localDateFormatTest() {
+    DateFormatManager manager = new DateFormatManager(messageSource());
+    LocaleContextHolder.setLocale(Locale.FRENCH);
+    assertEquals("dd/MM/yyyy", manager.getLocalDateFormat());
+    LocaleContextHolder.setLocale(Locale.ENGLISH);
+    assertEquals("MM/dd/yyyy", manager.getLocalDateFormat());
+  }
+
+  /**
+   * Local date formats are read once per locale.
+   */
+  @Test
+  public void localDateFormatCachedTest() {
+    StaticMessageSource messageSource = messageSource();
+    DateFormatManager manager = new DateFormatManager(messageSource);
+    assertEquals("dd/MM/yyyy", manager.getLocalDateFormat(Locale.FRENCH));
+    messageSource.addMessage("property.dateFormat", Locale.FRENCH, "dd.MM.yyyy");
+    assertEquals("dd/MM/yyyy", manager.getLocalDateFormat(Locale.FRENCH));
+  }
+
+  /**
+   * The started manager is the one of the static mappers and validators.
+   */
+  @Test
+  public void startedManagerTest() {
+    DateFormatManager manager = new DateFormatManager(messageSource());
+    manager.start();
+    assertSame(manager, DateFormatManager.get());
+  }
+
+  private static StaticMessageSource messageSource() {
+    StaticMessageSource messageSource = new StaticMessageSource();
+    messageSource.addMessage("property.dateFormat", Locale.FRENCH, "dd/MM/yyyy");
+    messageSource.addMessage("property.dateFormat", Locale.ENGLISH, "MM/dd/yyyy");
+    return messageSource;
+  }
+}
@@ -0,0 +1,118 @@
+package junit.com.excilys.cdb.mappers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.excilys.cdb.mappers.QueryPageParameterMapper;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.KeysetCursor;
+import com.excilys.cdb.models.OrderBy;
+import com.excilys.cdb.models.QueryPageParameter;
+import com.excilys.cdb.validators.ValidatorException;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+
+import java.time.LocalDateTime;
+
+public class QueryPageParameterMapperTest {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryPageParameterMapperTest.class);
+
+  ComputerView computer;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START QueryPageParameterMapperTest ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END QueryPageParameterMapperTest ----------------\n");
+  }
+
+  /**
+   * Before test case.
+   */
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+    computer = new ComputerView(42L, "Mac|Book", LocalDateTime.of(2010, 5, 3, 0, 0), null, 7L,
+        "Apple");
+  }
+
+  /**
+   * After test case.
+   */
+  @After
+  public void tearDown() {
+    computer = null;
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  // TESTS CASES
+  /**
+   * First keyset page has no cursor.
+   */
+  @Test
+  public void toKeysetFirstPageTest() {
+    QueryPageParameter qp = QueryPageParameterMapper.toKeysetQueryPageParameter("", 30, "mac",
+        OrderBy.name, Direction.DESC);
+    assertTrue(qp.isKeyset());
+    assertNull(qp.getCursor());
+    assertEquals(30, qp.getPageable().getPageSize());
+  }
+
+  /**
+   * The cursor ordering wins over the passed one.
+   */
+  @Test
+  public void toKeysetCursorOrderingTest() {
+    String cursor = KeysetCursor.after(OrderBy.introduced, Direction.DESC, computer).encode();
+    QueryPageParameter qp = QueryPageParameterMapper.toKeysetQueryPageParameter(cursor, 30, "",
+        OrderBy.id, Direction.ASC);
+    Order order = qp.getPageable().getSort().iterator().next();
+    assertEquals(OrderBy.introduced.toString(), order.getProperty());
+    assertEquals(Direction.DESC, order.getDirection());
+    assertEquals(computer.getIntroduced(), qp.getCursor().getValue());
+    assertEquals(42L, qp.getCursor().getId());
+  }
+
+  /**
+   * Cursor values survive encoding, null and separators included.
+   */
+  @Test
+  public void cursorRoundTripTest() {
+    KeysetCursor byName = KeysetCursor.decode(
+        KeysetCursor.before(OrderBy.name, Direction.ASC, computer).encode());
+    assertEquals("Mac|Book", byName.getValue());
+    assertTrue(byName.isBackward());
+
+    KeysetCursor byDiscontinued = KeysetCursor.decode(
+        KeysetCursor.after(OrderBy.discontinued, Direction.ASC, computer).encode());
+    assertNull(byDiscontinued.getValue());
+
+    KeysetCursor byCompany = KeysetCursor.decode(
+        KeysetCursor.after(OrderBy.company, Direction.ASC, computer).encode());
+    assertEquals("Apple", byCompany.getValue());
+  }
+
+  /**
+   * Malformed cursor is rejected.
+   */
+  @Test(expected = ValidatorException.class)
+  public void malformedCursorTest() {
+    QueryPageParameterMapper.toKeysetQueryPageParameter("not a cursor", 30, "", OrderBy.id,
+        Direction.ASC);
+  }
+}
@@ -0,0 +1,108 @@
+package junit.com.excilys.cdb.mappers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.excilys.cdb.monitoring.RequestStatistics;
+import com.excilys.cdb.monitoring.RequestStatisticsFilter;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.HttpServletResponse;
+
+public class RequestStatisticsFilterTest {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(RequestStatisticsFilterTest.class);
+
+  RequestStatisticsFilter filter;
+  MockHttpServletRequest request;
+  MockHttpServletResponse response;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START RequestStatisticsFilterTest ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END RequestStatisticsFilterTest ----------------\n");
+  }
+
+  /**
+   * Before each test, a filter of the dev profile.
+   */
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+    filter = new RequestStatisticsFilter();
+    request = new MockHttpServletRequest("GET", "/json/computers/export");
+    response = new MockHttpServletResponse();
+  }
+
+  @After
+  public void tearDown() {
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  /**
+   * A streamed body reaches the response as it is flushed, after the header.
+   *
+   * @throws Exception never, the chain is in memory
+   */
+  @Test
+  public void streamedBodyNotBufferedTest() throws Exception {
+    filter.doFilter(request, response, (req, res) -> {
+      RequestStatistics.statementExecuted(1000);
+      res.getOutputStream().write("a,b\n".getBytes(StandardCharsets.UTF_8));
+      res.flushBuffer();
+      assertTrue(response.isCommitted());
+      assertEquals("a,b\n", response.getContentAsString());
+      RequestStatistics.statementExecuted(1000);
+    });
+    assertTrue(response.getHeader(RequestStatisticsFilter.HEADER),
+        response.getHeader(RequestStatisticsFilter.HEADER).startsWith("statements=1;"));
+  }
+
+  /**
+   * Redirects and responses without body get the header too.
+   *
+   * @throws Exception never, the chain is in memory
+   */
+  @Test
+  public void headerWithoutBodyTest() throws Exception {
+    filter.doFilter(request, response,
+        (req, res) -> ((HttpServletResponse) res).sendRedirect("/computers"));
+    assertTrue(response.containsHeader(RequestStatisticsFilter.HEADER));
+
+    response = new MockHttpServletResponse();
+    filter.doFilter(new MockHttpServletRequest("POST", "/computers/delete"), response,
+        (req, res) -> ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_NO_CONTENT));
+    assertTrue(response.containsHeader(RequestStatisticsFilter.HEADER));
+  }
+
+  /**
+   * Nothing is collected in the prod profile.
+   *
+   * @throws Exception never, the chain is in memory
+   */
+  @Test
+  public void prodProfileTest() throws Exception {
+    filter.setProfile("prod");
+    filter.doFilter(request, response, (req, res) -> res.getWriter().write("a,b\n"));
+    assertNull(response.getHeader(RequestStatisticsFilter.HEADER));
+    assertEquals("a,b\n", response.getContentAsString());
+  }
+}
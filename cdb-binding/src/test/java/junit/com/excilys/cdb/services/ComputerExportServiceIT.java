@@ -0,0 +1,141 @@
+package junit.com.excilys.cdb.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.services.CompanyService;
+import com.excilys.cdb.services.ComputerExportService;
+import com.excilys.cdb.services.ComputerService;
+import com.excilys.cdb.utils.LineFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Export of the computers streamed from an in memory H2 database, a few rows fetched at a time
+ * (export.fetchSize of the test properties).
+ *
+ * @author Aurelien.R
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:/spring/binding-context.xml")
+public class ComputerExportServiceIT {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComputerExportServiceIT.class);
+
+  // Constants
+  private static final String COMPANY = "Export company";
+  private static final LocalDateTime INTRODUCED = LocalDateTime.of(2001, 2, 3, 4, 5, 6);
+  private static final LocalDateTime DISCONTINUED = LocalDateTime.of(2005, 6, 7, 0, 0);
+
+  @Autowired
+  ComputerExportService exportService;
+
+  @Autowired
+  ComputerService computerService;
+
+  @Autowired
+  CompanyService companyService;
+
+  private long companyId;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START ComputerExportServiceIT ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END ComputerExportServiceIT ----------------\n");
+  }
+
+  /**
+   * Create a company and three computers, more than a fetch.
+   */
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+    companyId = companyService.createCompany(new Company(0, COMPANY));
+    Company company = new Company(companyId, null);
+    computerService.createComputers(Arrays.asList(
+        new Computer(0, "Export 1", company, DISCONTINUED, INTRODUCED),
+        new Computer(0, "Export \"2\", rev. B", company, null, null),
+        new Computer(0, "Export 3", company, null, INTRODUCED)));
+  }
+
+  /**
+   * Delete the company and its computers.
+   */
+  @After
+  public void tearDown() {
+    companyService.deleteCompany(companyId);
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  // TESTS CASES
+  /**
+   * Every computer is written as a csv line, in id order, under the header.
+   *
+   * @throws IOException never, the stream is in memory
+   */
+  @Test
+  public void csvExportTest() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertEquals(3, exportService.exportComputers(out, LineFormat.csv));
+
+    String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+    assertEquals(4, lines.length);
+    assertEquals(LineFormat.CSV_HEADER, lines[0]);
+    assertEquals("Export 1,2001-02-03 04:05:06,2005-06-07 00:00:00," + COMPANY, lines[1]);
+    assertEquals("\"Export \"\"2\"\", rev. B\",,," + COMPANY, lines[2]);
+    assertEquals("Export 3,2001-02-03 04:05:06,," + COMPANY, lines[3]);
+  }
+
+  /**
+   * Every computer is written as a json object on a line of its own, in id order.
+   *
+   * @throws IOException never, the stream is in memory
+   */
+  @Test
+  public void jsonExportTest() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertEquals(3, exportService.exportComputers(out, LineFormat.json));
+
+    String[] lines = out.toString(StandardCharsets.UTF_8.name()).split("\n");
+    assertEquals(3, lines.length);
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode first = mapper.readTree(lines[0]);
+    assertEquals("Export 1", first.get("name").asText());
+    assertEquals("2001-02-03 04:05:06", first.get("introduced").asText());
+    assertEquals("2005-06-07 00:00:00", first.get("discontinued").asText());
+    assertEquals(COMPANY, first.get("company").asText());
+    JsonNode second = mapper.readTree(lines[1]);
+    assertEquals("Export \"2\", rev. B", second.get("name").asText());
+    assertTrue(second.get("introduced").isNull());
+    assertTrue(second.get("discontinued").isNull());
+    assertEquals("Export 3", mapper.readTree(lines[2]).get("name").asText());
+  }
+}
@@ -7,6 +7,8 @@ import com.excilys.cdb.cli.impl.DisplayAllCompanyCmd;
 import com.excilys.cdb.cli.impl.DisplayAllComputerCmd;
 import com.excilys.cdb.cli.impl.DisplayComputerDetailsCmd;
 import com.excilys.cdb.cli.impl.ExitCmd;
+import com.excilys.cdb.cli.impl.ExportComputersCmd;
+import com.excilys.cdb.cli.impl.ImportComputersCmd;
 import com.excilys.cdb.cli.impl.UpdateComputerCmd;
 
 import org.slf4j.Logger;
@@ -33,6 +35,8 @@ public class CommandParser {
   private static final String CREATE_COMPUTER_CMD = "createcomputer";
   private static final String UPDATE_COMPUTER_CMD = "updatecomputer";
   private static final String DELETE_COMPUTER_CMD = "deletecomputer";
+  private static final String IMPORT_COMPUTERS_CMD = "importcomputers";
+  private static final String EXPORT_COMPUTERS_CMD = "exportcomputers";
   private static final String EXIT_CMD = "exit";
 
   // Attributes
@@ -80,6 +84,12 @@ public class CommandParser {
       case DELETE_COMPUTER_CMD:
         cmd = new DeleteComputerCmd(sc);
         break;
+      case IMPORT_COMPUTERS_CMD:
+        cmd = new ImportComputersCmd(sc);
+        break;
+      case EXPORT_COMPUTERS_CMD:
+        cmd = new ExportComputersCmd(sc);
+        break;
       case EXIT_CMD:
         cmd = new ExitCmd();
         break;
@@ -105,6 +115,8 @@ public class CommandParser {
     .append("*\t\t").append(CREATE_COMPUTER_CMD).append('\n')
     .append("*\t\t").append(UPDATE_COMPUTER_CMD).append('\n')
     .append("*\t\t").append(DELETE_COMPUTER_CMD).append('\n')
+    .append("*\t\t").append(IMPORT_COMPUTERS_CMD).append('\n')
+    .append("*\t\t").append(EXPORT_COMPUTERS_CMD).append('\n')
     .append("*\t\t").append(EXIT_CMD).append('\n')
         .append("****************************************************************************************\n");
     System.out.println(sb);
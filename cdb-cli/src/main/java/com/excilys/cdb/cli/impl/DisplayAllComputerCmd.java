@@ -24,8 +24,8 @@ public class DisplayAllComputerCmd implements Command {
   public void execute() {
 
     System.out.println("Display all computers...");
-    int page = 0;
-    ComputerPageDto computerPageDto = CliRequestManager.getComputerPageDto(page);
+    int page = 1;
+    ComputerPageDto computerPageDto = CliRequestManager.getComputerPageDto(null);
 
     String cmd = "q";
 
@@ -34,30 +34,24 @@ public class DisplayAllComputerCmd implements Command {
         System.out.println(c);
       }
 
-      System.out.println("********************************* Page: " + computerPageDto.getCurrent()
-          + "/" + computerPageDto.getPageCount() + " *********************************");
+      System.out.println("********************************* Page: " + page
+          + " *********************************");
       System.out.println("Next: n");
       System.out.println("Previous: p");
       System.out.println("Quit: q");
 
       cmd = sc.next();
 
-      if (cmd.equals("n")) {
-        if (computerPageDto.getCurrent() >= computerPageDto.getPageCount()) {
-          page = computerPageDto.getCurrent() - 1;
-        } else {
-          page = computerPageDto.getCurrent();
-        }
-      } else if (cmd.equals("p")) {
-        if (computerPageDto.getCurrent() <= 1) {
-          page = 0;
-        } else {
-          page = computerPageDto.getCurrent() - 2;
-        }
+      // Stay on the current page when there is no next or previous one
+      if (cmd.equals("n") && computerPageDto.getNextCursor() != null) {
+        computerPageDto = CliRequestManager.getComputerPageDto(computerPageDto.getNextCursor());
+        page++;
+      } else if (cmd.equals("p") && computerPageDto.getPreviousCursor() != null) {
+        computerPageDto =
+            CliRequestManager.getComputerPageDto(computerPageDto.getPreviousCursor());
+        page--;
       }
 
-      computerPageDto = CliRequestManager.getComputerPageDto(page);
-
     } while (!cmd.equals("q"));
 
   }
@@ -0,0 +1,55 @@
+package com.excilys.cdb.cli.impl;
+
+import com.excilys.cdb.cli.CliException;
+import com.excilys.cdb.cli.Command;
+import com.excilys.cdb.network.CliRequestManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Scanner;
+
+/**
+ * CLI to download all computers to a csv or json lines file
+ *
+ * @author Aurelien.R
+ *
+ */
+public class ExportComputersCmd implements Command {
+
+  // Logger
+  static final Logger LOGGER = LoggerFactory.getLogger(ExportComputersCmd.class);
+
+  private Scanner sc;
+
+  public ExportComputersCmd(Scanner sc) {
+    this.sc = sc;
+  }
+
+  @Override
+  public void execute() {
+
+    try {
+      System.out.println("Export computers:");
+
+      // Get file input
+      System.out.println("File (.csv for csv, json lines otherwise):");
+      sc.nextLine();
+      Path file = Paths.get(sc.nextLine().trim());
+      String format = file.toString().toLowerCase().endsWith(".csv") ? "csv" : "json";
+
+      // Export computers
+      LOGGER.debug("Try to export computers to: {} as {}", file, format);
+      long size = CliRequestManager.exportComputers(file, format);
+
+      System.out.println(size + " bytes written to " + file);
+
+    } catch (IOException | IllegalArgumentException e) {
+      throw new CliException("Cannot export file", e);
+    }
+  }
+
+}
@@ -0,0 +1,58 @@
+package com.excilys.cdb.cli.impl;
+
+import com.excilys.cdb.cli.CliException;
+import com.excilys.cdb.cli.Command;
+import com.excilys.cdb.dtos.ImportReportDto;
+import com.excilys.cdb.network.CliRequestManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Scanner;
+
+/**
+ * CLI to import computers from a csv or json lines file
+ *
+ * @author Aurelien.R
+ *
+ */
+public class ImportComputersCmd implements Command {
+
+  // Logger
+  static final Logger LOGGER = LoggerFactory.getLogger(ImportComputersCmd.class);
+
+  private Scanner sc;
+
+  public ImportComputersCmd(Scanner sc) {
+    this.sc = sc;
+  }
+
+  @Override
+  public void execute() {
+
+    try {
+      System.out.println("Import computers:");
+
+      // Get file input
+      System.out.println("File (csv: name,introduced,discontinued,company or json lines):");
+      sc.nextLine();
+      Path file = Paths.get(sc.nextLine().trim());
+      String format = file.toString().toLowerCase().endsWith(".csv") ? "csv" : "json";
+
+      // Import computers
+      LOGGER.debug("Try to import computers from: {} as {}", file, format);
+      ImportReportDto report = CliRequestManager.importComputers(file, format);
+
+      System.out.println(report.getImported() + " computers imported, " + report.getRejected()
+          + " lines rejected in " + report.getDurationMs() + " ms");
+      report.getErrors().forEach(System.out::println);
+
+    } catch (IOException | IllegalArgumentException e) {
+      throw new CliException("Cannot import file", e);
+    }
+  }
+
+}
@@ -41,6 +41,10 @@ public class UpdateComputerCmd implements Command {
     long id = sc.nextLong();
     LOGGER.debug("Id computer to update: {}", id);
 
+    // Update the version read now, the update is rejected if it changes meanwhile
+    computerDto.setId(id);
+    computerDto.setVersion(CliRequestManager.getComputerById(id).getVersion());
+
     // Get new name input
     System.out.println("New Name:");
     String newName = sc.next();
@@ -1,9 +1,16 @@
 package com.excilys.cdb.network;
 
+import com.excilys.cdb.cli.CliException;
 import com.excilys.cdb.dtos.CompanyDto;
 import com.excilys.cdb.dtos.ComputerDto;
 import com.excilys.cdb.dtos.ComputerPageDto;
+import com.excilys.cdb.dtos.ImportReportDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 import javax.ws.rs.client.Client;
@@ -14,6 +21,7 @@ import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Form;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 public class CliRequestManager {
   
@@ -29,16 +37,20 @@ public class CliRequestManager {
   private static final String COMPUTERS_DELETE_PATH = "/computers/delete";
   private static final String COMPUTERS_CREATE_PATH = "/computers/new";
   private static final String COMPUTERS_UPDATE_PATH = "/computers/edit";
+  private static final String COMPUTERS_IMPORT_PATH = "/computers/import";
+  private static final String COMPUTERS_EXPORT_PATH = "/computers/export";
   private static final String COMPANIES_PATH = "/companies";
   private static final String COMPANIES_DELETE_PATH = "/companies/delete";
 
-  public static ComputerPageDto getComputerPageDto(int page) {
+  public static ComputerPageDto getComputerPageDto(String cursor) {
 
     Client c = ClientBuilder.newClient().register(new Authenticator(USERNAME, PASSWORD));
     WebTarget baseUrlWt = c.target(BASE_URL);
 
     try {
-      Invocation.Builder bldr = baseUrlWt.path(COMPUTERS_PATH).queryParam("page", page).request();
+      // Walk pages by cursor, no offset nor count to compute on server side
+      Invocation.Builder bldr = baseUrlWt.path(COMPUTERS_PATH)
+          .queryParam("cursor", cursor == null ? "" : cursor).request();
       return bldr.get(ComputerPageDto.class);
     } finally {
       c.close();
@@ -107,7 +119,11 @@ public class CliRequestManager {
 
       Invocation.Builder bldr =
           baseUrlWt.path(COMPUTERS_UPDATE_PATH).request(MediaType.APPLICATION_JSON_TYPE);
-      bldr.post(Entity.json(computerDto));
+      Response response = bldr.post(Entity.json(computerDto));
+      if (response.getStatus() == Response.Status.CONFLICT.getStatusCode()) {
+        throw new CliException("Computer " + computerDto.getId()
+            + " was updated meanwhile, try again");
+      }
     } finally {
       c.close();
     }
@@ -128,6 +144,36 @@ public class CliRequestManager {
     }
   }
 
+  public static ImportReportDto importComputers(Path file, String format) throws IOException {
+    Client c = ClientBuilder.newClient().register(new Authenticator(USERNAME, PASSWORD));
+    WebTarget baseUrlWt = c.target(BASE_URL);
+
+    // Stream the file, it is never loaded in memory
+    try (InputStream in = Files.newInputStream(file)) {
+      Invocation.Builder bldr = baseUrlWt.path(COMPUTERS_IMPORT_PATH)
+          .queryParam("format", format).request(MediaType.APPLICATION_JSON_TYPE);
+      return bldr.post(Entity.entity(in, MediaType.TEXT_PLAIN_TYPE), ImportReportDto.class);
+    } finally {
+      c.close();
+    }
+  }
+
+  public static long exportComputers(Path file, String format) throws IOException {
+    Client c = ClientBuilder.newClient().register(new Authenticator(USERNAME, PASSWORD));
+    WebTarget baseUrlWt = c.target(BASE_URL);
+
+    // Copy the response to the file while it is downloaded
+    try {
+      Invocation.Builder bldr =
+          baseUrlWt.path(COMPUTERS_EXPORT_PATH).queryParam("format", format).request();
+      try (InputStream in = bldr.get(InputStream.class)) {
+        return Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      c.close();
+    }
+  }
+
   public static void deleteCompany(long id) {
     Client c = ClientBuilder.newClient();
     WebTarget baseUrlWt = c.target(BASE_URL);
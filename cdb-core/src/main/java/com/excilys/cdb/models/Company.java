@@ -1,5 +1,9 @@
 package com.excilys.cdb.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -13,6 +17,8 @@ import javax.persistence.Table;
  */
 @Entity
 @Table(name = "company")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Company {
 
   // Attributes
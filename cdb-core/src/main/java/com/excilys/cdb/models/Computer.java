@@ -1,16 +1,24 @@
 package com.excilys.cdb.models;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.NotFound;
 import org.hibernate.annotations.NotFoundAction;
 
 import java.time.LocalDateTime;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.Version;
 
 /**
  * Model of a Computer
@@ -19,11 +27,25 @@ import javax.persistence.Table;
  *
  */
 @Entity
-@Table(name = "computer")
+// Sorting indexes of the dashboard orderings, also in config/4-INDEXES.sql and
+// config/5-COMPANY-NAME.sql for schemas not generated by hibernate
+@Table(name = "computer", indexes = {
+    @Index(name = "ix_computer_name_id", columnList = "name, id"),
+    @Index(name = "ix_computer_introduced_id", columnList = "introduced, id"),
+    @Index(name = "ix_computer_discontinued_id", columnList = "discontinued, id"),
+    @Index(name = "ix_computer_company_id", columnList = "company_id, id"),
+    @Index(name = "ix_computer_company_name_id", columnList = "company_name, id") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Computer {
 
   // Attributes
+  // Ids are reserved by blocks from hibernate_sequences, so inserts can be batched
   @Id
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "computer_id")
+  @TableGenerator(name = "computer_id", table = "hibernate_sequences",
+      pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "computer",
+      allocationSize = 50)
   private long id = 0;
   @Column(nullable = true)
   private String name;
@@ -35,6 +57,12 @@ public class Computer {
   @JoinColumn(name = "company_id")
   @NotFound(action = NotFoundAction.IGNORE)
   private Company company;
+  // Copy of the company name, so that computers can be sorted by it on an index of their own
+  @Column(name = "company_name", nullable = true)
+  private String companyName;
+  // Incremented by each update, an update of a stale version is rejected
+  @Version
+  private long version;
 
   /**
    * Instantiates a new computer.
@@ -67,6 +95,14 @@ public class Computer {
     this.id = id;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
   public Company getCompany() {
     return company;
   }
@@ -75,6 +111,14 @@ public class Computer {
     this.company = company;
   }
 
+  public String getCompanyName() {
+    return companyName;
+  }
+
+  public void setCompanyName(String companyName) {
+    this.companyName = companyName;
+  }
+
   public String getName() {
     return name;
   }
@@ -101,8 +145,8 @@ public class Computer {
 
   @Override
   public String toString() {
-    return "Computer [id=" + id + ", company=" + company + ", name=" + name + ", discontinued="
-        + discontinued + ", introduced=" + introduced + "]";
+    return "Computer [id=" + id + ", version=" + version + ", company=" + company + ", name="
+        + name + ", discontinued=" + discontinued + ", introduced=" + introduced + "]";
   }
 
   @Override
@@ -0,0 +1,73 @@
+package com.excilys.cdb.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read only, flat view of a computer and the name of its company, selected in a single
+ * statement for list pages instead of loading Computer entities and their companies.
+ *
+ * @author Aurelien.R
+ *
+ */
+public class ComputerView {
+
+  // Attributes
+  private final long id;
+  private final String name;
+  private final LocalDateTime introduced;
+  private final LocalDateTime discontinued;
+  private final Long companyId;
+  private final String companyName;
+
+  /**
+   * Instantiates a new computer view, used by JPQL constructor expressions.
+   *
+   * @param id the id
+   * @param name the name of the computer
+   * @param introduced the introduced date
+   * @param discontinued the discontinued date
+   * @param companyId the id of the related company, null if none
+   * @param companyName the name of the related company, null if none
+   */
+  public ComputerView(long id, String name, LocalDateTime introduced,
+      LocalDateTime discontinued, Long companyId, String companyName) {
+    this.id = id;
+    this.name = name;
+    this.introduced = introduced;
+    this.discontinued = discontinued;
+    this.companyId = companyId;
+    this.companyName = companyName;
+  }
+
+  // Getters
+  public long getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public LocalDateTime getIntroduced() {
+    return introduced;
+  }
+
+  public LocalDateTime getDiscontinued() {
+    return discontinued;
+  }
+
+  public Long getCompanyId() {
+    return companyId;
+  }
+
+  public String getCompanyName() {
+    return companyName;
+  }
+
+  @Override
+  public String toString() {
+    return "ComputerView [id=" + id + ", name=" + name + ", introduced=" + introduced
+        + ", discontinued=" + discontinued + ", companyId=" + companyId + ", companyName="
+        + companyName + "]";
+  }
+}
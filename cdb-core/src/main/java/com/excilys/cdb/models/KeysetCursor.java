@@ -0,0 +1,180 @@
+package com.excilys.cdb.models;
+
+import com.excilys.cdb.validators.ValidatorException;
+
+import org.springframework.data.domain.Sort.Direction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a list of computers, for keyset (seek) pagination: the value of the ordering
+ * column and the id of the computer the page starts after (or before when going backward).
+ * Shared with clients as an opaque string.
+ *
+ * @author Aurelien.R
+ */
+public class KeysetCursor {
+
+  // Constants
+  private static final String SEPARATOR = "|";
+  private static final String NULL_VALUE = "-";
+  private static final String VALUE_PREFIX = "=";
+
+  // Attributes
+  private final OrderBy orderBy;
+  private final Direction direction;
+  private final boolean backward;
+  private final long id;
+  private final Object value;
+
+  /**
+   * Instantiates a new keyset cursor.
+   *
+   * @param orderBy ordering column
+   * @param direction ordering direction
+   * @param backward whether the page is before the cursor
+   * @param id id of the computer at the cursor
+   * @param value value of the ordering column of the computer at the cursor, may be null
+   */
+  public KeysetCursor(OrderBy orderBy, Direction direction, boolean backward, long id,
+      Object value) {
+    this.orderBy = orderBy;
+    this.direction = direction;
+    this.backward = backward;
+    this.id = id;
+    this.value = value;
+  }
+
+  /**
+   * Cursor to the page after the given computer.
+   *
+   * @param orderBy ordering column
+   * @param direction ordering direction
+   * @param computer last computer of the current page
+   * @return the related cursor
+   */
+  public static KeysetCursor after(OrderBy orderBy, Direction direction,
+      ComputerView computer) {
+    return new KeysetCursor(orderBy, direction, false, computer.getId(),
+        valueOf(orderBy, computer));
+  }
+
+  /**
+   * Cursor to the page before the given computer.
+   *
+   * @param orderBy ordering column
+   * @param direction ordering direction
+   * @param computer first computer of the current page
+   * @return the related cursor
+   */
+  public static KeysetCursor before(OrderBy orderBy, Direction direction,
+      ComputerView computer) {
+    return new KeysetCursor(orderBy, direction, true, computer.getId(),
+        valueOf(orderBy, computer));
+  }
+
+  /**
+   * Value of the ordering column of a computer.
+   *
+   * @param orderBy ordering column
+   * @param computer computer to read
+   * @return the value, null if none
+   */
+  public static Object valueOf(OrderBy orderBy, ComputerView computer) {
+    switch (orderBy) {
+      case name:
+        return computer.getName();
+      case introduced:
+        return computer.getIntroduced();
+      case discontinued:
+        return computer.getDiscontinued();
+      case company:
+        return computer.getCompanyName();
+      case id:
+      default:
+        return computer.getId();
+    }
+  }
+
+  /**
+   * Encode the cursor as an opaque url safe string.
+   *
+   * @return the encoded cursor
+   */
+  public String encode() {
+    String raw = orderBy.name() + SEPARATOR + direction.name() + SEPARATOR + backward + SEPARATOR
+        + id + SEPARATOR + (value == null ? NULL_VALUE : VALUE_PREFIX + value);
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a cursor encoded by {@link #encode()}.
+   *
+   * @param encoded the encoded cursor
+   * @return the cursor
+   * @throws ValidatorException if the cursor is malformed
+   */
+  public static KeysetCursor decode(String encoded) throws ValidatorException {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, 5);
+      if (parts.length != 5) {
+        throw new ValidatorException("Malformed cursor: " + encoded);
+      }
+      OrderBy orderBy = OrderBy.valueOf(parts[0]);
+      Direction direction = Direction.valueOf(parts[1]);
+      boolean backward = Boolean.parseBoolean(parts[2]);
+      long id = Long.parseLong(parts[3]);
+      Object value = parts[4].equals(NULL_VALUE) ? null
+          : parseValue(orderBy, parts[4].substring(VALUE_PREFIX.length()));
+      return new KeysetCursor(orderBy, direction, backward, id, value);
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw new ValidatorException("Malformed cursor: " + encoded, e);
+    }
+  }
+
+  private static Object parseValue(OrderBy orderBy, String value) {
+    switch (orderBy) {
+      case name:
+      case company:
+        return value;
+      case introduced:
+      case discontinued:
+        return LocalDateTime.parse(value);
+      case id:
+      default:
+        return Long.valueOf(value);
+    }
+  }
+
+  // Getters
+  public OrderBy getOrderBy() {
+    return orderBy;
+  }
+
+  public Direction getDirection() {
+    return direction;
+  }
+
+  public boolean isBackward() {
+    return backward;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return "KeysetCursor [orderBy=" + orderBy + ", direction=" + direction + ", backward="
+        + backward + ", id=" + id + ", value=" + value + "]";
+  }
+}
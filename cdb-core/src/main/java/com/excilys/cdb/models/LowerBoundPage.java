@@ -0,0 +1,44 @@
+package com.excilys.cdb.models;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page whose total is a lower bound, while the exact count is computed in background: it only
+ * tells there is at least one more page. Views show it as "more" rather than as a page count.
+ *
+ * @author Aurelien.R
+ */
+public class LowerBoundPage<T> extends PageImpl<T> {
+
+  private static final long serialVersionUID = 1L;
+
+  // Attributes
+  private final Pageable pageable;
+
+  /**
+   * Instantiates a new lower bound page.
+   *
+   * @param content content of the page
+   * @param pageable asked page
+   * @param minimumTotal number of elements there are at least
+   */
+  public LowerBoundPage(List<T> content, Pageable pageable, long minimumTotal) {
+    super(content, pageable, minimumTotal);
+    this.pageable = pageable;
+  }
+
+  @Override
+  public <S> Page<S> map(Converter<? super T, ? extends S> converter) {
+    List<S> converted = new ArrayList<>(getNumberOfElements());
+    for (T element : this) {
+      converted.add(converter.convert(element));
+    }
+    return new LowerBoundPage<>(converted, pageable, getTotalElements());
+  }
+}
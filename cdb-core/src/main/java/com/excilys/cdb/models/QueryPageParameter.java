@@ -14,16 +14,39 @@ public class QueryPageParameter {
 
   Pageable pageable;
   private String search = "";
+  private boolean keyset = false;
+  private KeysetCursor cursor;
 
   /**
    * Instantiates a new query page parameter.
    */
   public QueryPageParameter(int page, int size, Direction direction, String orderBy,
       String search) {
-    this.pageable = new PageRequest(page, size, new Sort(direction,orderBy));
+    Sort sort = new Sort(direction, orderBy);
+    // Id as tie-breaker, pages are stable and read in the order of the (column, id) indexes
+    if (!OrderBy.id.toString().equals(orderBy)) {
+      sort = sort.and(new Sort(direction, OrderBy.id.toString()));
+    }
+    this.pageable = new PageRequest(page, size, sort);
     this.search = search;
   }
 
+  /**
+   * Instantiates a new query page parameter, in keyset pagination mode.
+   *
+   * @param size page size
+   * @param direction ordering direction
+   * @param orderBy ordering column
+   * @param search search criteria
+   * @param cursor position to start from, null for the first page
+   */
+  public QueryPageParameter(int size, Direction direction, String orderBy, String search,
+      KeysetCursor cursor) {
+    this(0, size, direction, orderBy, search);
+    this.keyset = true;
+    this.cursor = cursor;
+  }
+
   /**
    * Gets the search.
    *
@@ -42,4 +65,28 @@ public class QueryPageParameter {
   public Pageable getPageable() {
     return pageable;
   }
+
+  /**
+   * Whether pages are found from a cursor rather than an offset.
+   *
+   * @return true in keyset pagination mode
+   */
+  public boolean isKeyset() {
+    return keyset;
+  }
+
+  /**
+   * Gets the keyset cursor.
+   *
+   * @return the cursor, null for the first page or in offset mode
+   */
+  public KeysetCursor getCursor() {
+    return cursor;
+  }
+
+  @Override
+  public String toString() {
+    return "QueryPageParameter [pageable=" + pageable + ", search=" + search + ", keyset="
+        + keyset + ", cursor=" + cursor + "]";
+  }
 }
@@ -0,0 +1,157 @@
+package com.excilys.cdb.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free latency histogram, in microseconds. Values are counted in buckets of 8 sub-buckets
+ * per power of two, so a percentile is known within 12.5% whatever the magnitude, with a fixed
+ * memory footprint. Values above about an hour land in the last bucket.
+ *
+ * @author Aurelien.R
+ */
+public class LatencyHistogram {
+
+  // Constants
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_POWER = 32;
+  private static final int BUCKETS = (MAX_POWER + 1) * SUB_BUCKETS;
+
+  // Attributes
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  // Methods
+  /**
+   * Record a latency.
+   *
+   * @param nanos the latency in nanoseconds
+   */
+  public void record(long nanos) {
+    long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    counts.incrementAndGet(bucketOf(micros));
+    count.increment();
+    sum.add(micros);
+    long previous = max.get();
+    while (micros > previous && !max.compareAndSet(previous, micros)) {
+      previous = max.get();
+    }
+  }
+
+  /**
+   * Consistent enough view of the histogram, recordings may go on while it is taken.
+   *
+   * @return the snapshot
+   */
+  public Snapshot snapshot() {
+    long[] buckets = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets[i] = counts.get(i);
+      total += buckets[i];
+    }
+    return new Snapshot(buckets, total, sum.sum(), max.get());
+  }
+
+  private static int bucketOf(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+    int power = 63 - Long.numberOfLeadingZeros(micros);
+    if (power > MAX_POWER) {
+      return BUCKETS - 1;
+    }
+    int subBucket = (int) (micros >>> (power - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (power - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  private static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int power = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    int subBucket = bucket % SUB_BUCKETS;
+    return ((long) (SUB_BUCKETS + subBucket + 1) << (power - SUB_BUCKET_BITS)) - 1;
+  }
+
+  /**
+   * Counts of a histogram at a given time.
+   */
+  public static class Snapshot {
+
+    private final long[] buckets;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    private Snapshot(long[] buckets, long count, long sum, long max) {
+      this.buckets = buckets;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Mean latency.
+     *
+     * @return the mean in microseconds, 0 if nothing recorded
+     */
+    public long getMean() {
+      return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * Sum of the recorded latencies.
+     *
+     * @return the sum in microseconds
+     */
+    public long getSum() {
+      return sum;
+    }
+
+    /**
+     * Max latency.
+     *
+     * @return the max in microseconds
+     */
+    public long getMax() {
+      return max;
+    }
+
+    /**
+     * Latency under which a percentage of the recorded ones are.
+     *
+     * @param percentile percentage, between 0 and 100
+     * @return upper bound of the bucket of the percentile in microseconds, not above the max
+     */
+    public long getPercentile(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+      long seen = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        seen += buckets[i];
+        if (seen >= rank) {
+          return Math.min(upperBoundOf(i), max);
+        }
+      }
+      return max;
+    }
+
+    @Override
+    public String toString() {
+      return "count=" + count + ", mean=" + getMean() + "us, p50=" + getPercentile(50)
+          + "us, p99=" + getPercentile(99) + "us, max=" + max + "us";
+    }
+  }
+}
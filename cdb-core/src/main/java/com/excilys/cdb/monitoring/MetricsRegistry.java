@@ -0,0 +1,75 @@
+package com.excilys.cdb.monitoring;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timed operations by name, and the number of them in progress.
+ *
+ * <p>Up to maxKeys distinct names are kept, the others being recorded together under
+ * {@link #OTHER_KEYS}, so that the memory footprint stays bounded whatever the callers.
+ *
+ * @author Aurelien.R
+ */
+public class MetricsRegistry {
+
+  // Constants
+  public static final String OTHER_KEYS = "other";
+
+  // Configuration
+  private int maxKeys = 500;
+
+  // Attributes
+  private final Map<String, TimedMetrics> metrics = new ConcurrentHashMap<>();
+  private final AtomicLong inFlight = new AtomicLong();
+
+  // Methods
+  /**
+   * Start timing an operation, whose name may only be known when it ends.
+   *
+   * @return the start time, to give back to {@link #stop(String, long, boolean)}
+   */
+  public long start() {
+    inFlight.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  /**
+   * Stop timing an operation.
+   *
+   * @param key name of the operation
+   * @param start the value returned by {@link #start()}
+   * @param error whether the operation failed
+   */
+  public void stop(String key, long start, boolean error) {
+    long nanos = System.nanoTime() - start;
+    inFlight.decrementAndGet();
+    String name = metrics.containsKey(key) || metrics.size() < maxKeys ? key : OTHER_KEYS;
+    metrics.computeIfAbsent(name, k -> new TimedMetrics()).record(nanos, error);
+  }
+
+  /**
+   * Operations started and not stopped yet.
+   *
+   * @return the count
+   */
+  public long getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Metrics by operation name.
+   *
+   * @return read only view of the metrics
+   */
+  public Map<String, TimedMetrics> getMetrics() {
+    return Collections.unmodifiableMap(metrics);
+  }
+
+  // Setters
+  public void setMaxKeys(int maxKeys) {
+    this.maxKeys = maxKeys;
+  }
+}
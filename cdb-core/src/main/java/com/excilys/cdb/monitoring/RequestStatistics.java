@@ -0,0 +1,123 @@
+package com.excilys.cdb.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database work done by the current thread between {@link #start()} and {@link #stop()}: SQL
+ * statements executed and the time spent executing them, rows fetched from their result sets and
+ * entities loaded by Hibernate. Filled by the instrumented datasource and the Hibernate
+ * interceptor, for one request or in tests:
+ *
+ * <pre>
+ * RequestStatistics statistics = RequestStatistics.start();
+ * try {
+ *   computerService.findSliceByQuery(qp);
+ * } finally {
+ *   RequestStatistics.stop();
+ * }
+ * assertEquals(1, statistics.getStatements());
+ * </pre>
+ *
+ * <p>Nothing is collected, and no allocation made, on threads which did not start it.
+ *
+ * @author Aurelien.R
+ */
+public class RequestStatistics {
+
+  // Constants
+  private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+  // Attributes
+  private int statements;
+  private long rows;
+  private long jdbcNanos;
+  private int entityLoads;
+
+  // Methods
+  /**
+   * Start collecting the statistics of the current thread, replacing the previous ones if any.
+   *
+   * @return the statistics, updated until {@link #stop()}
+   */
+  public static RequestStatistics start() {
+    RequestStatistics statistics = new RequestStatistics();
+    CURRENT.set(statistics);
+    return statistics;
+  }
+
+  /**
+   * Stop collecting the statistics of the current thread.
+   */
+  public static void stop() {
+    CURRENT.remove();
+  }
+
+  /**
+   * Statistics of the current thread.
+   *
+   * @return the statistics, null when not collected
+   */
+  public static RequestStatistics current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Record a statement executed by the current thread.
+   *
+   * @param nanos time spent executing it
+   */
+  public static void statementExecuted(long nanos) {
+    RequestStatistics statistics = CURRENT.get();
+    if (statistics != null) {
+      statistics.statements++;
+      statistics.jdbcNanos += nanos;
+    }
+  }
+
+  /**
+   * Record a row fetched by the current thread.
+   */
+  public static void rowFetched() {
+    RequestStatistics statistics = CURRENT.get();
+    if (statistics != null) {
+      statistics.rows++;
+    }
+  }
+
+  /**
+   * Record an entity loaded by the current thread.
+   */
+  public static void entityLoaded() {
+    RequestStatistics statistics = CURRENT.get();
+    if (statistics != null) {
+      statistics.entityLoads++;
+    }
+  }
+
+  public int getStatements() {
+    return statements;
+  }
+
+  public long getRows() {
+    return rows;
+  }
+
+  /**
+   * Time spent executing the statements, fetching their rows excluded.
+   *
+   * @return the time in microseconds
+   */
+  public long getJdbcMicros() {
+    return TimeUnit.NANOSECONDS.toMicros(jdbcNanos);
+  }
+
+  public int getEntityLoads() {
+    return entityLoads;
+  }
+
+  @Override
+  public String toString() {
+    return "statements=" + statements + "; rows=" + rows + "; jdbcUs=" + getJdbcMicros()
+        + "; entityLoads=" + entityLoads;
+  }
+}
@@ -0,0 +1,37 @@
+package com.excilys.cdb.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and error count of one timed operation, an HTTP handler or a service method.
+ *
+ * @author Aurelien.R
+ */
+public class TimedMetrics {
+
+  // Attributes
+  private final LatencyHistogram latencies = new LatencyHistogram();
+  private final LongAdder errors = new LongAdder();
+
+  // Methods
+  /**
+   * Record an execution of the operation.
+   *
+   * @param nanos time spent in nanoseconds
+   * @param error whether the execution failed
+   */
+  public void record(long nanos, boolean error) {
+    latencies.record(nanos);
+    if (error) {
+      errors.increment();
+    }
+  }
+
+  public LatencyHistogram getLatencies() {
+    return latencies;
+  }
+
+  public long getErrorCount() {
+    return errors.sum();
+  }
+}
@@ -0,0 +1,148 @@
+package com.excilys.cdb.daos.generator;
+
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Write a generated catalog to files, instead of loading it into a database:
+ * <ul>
+ * <li>a sql script of multi-row inserts, in the columns of config/3-ENTRIES.sql plus the company
+ * name of config/5-COMPANY-NAME.sql, run after the schema scripts</li>
+ * <li>company.csv and computer.csv table dumps with a header line, for MySQL LOAD DATA INFILE or
+ * H2 CSVREAD, null being written as an empty field</li>
+ * </ul>
+ *
+ * @author Aurelien.R
+ */
+public class CatalogFileWriter {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(CatalogFileWriter.class);
+
+  // Constants
+  public static final String COMPANY_CSV = "company.csv";
+  public static final String COMPUTER_CSV = "computer.csv";
+  private static final int ROWS_PER_INSERT = 1000;
+  private static final DateTimeFormatter DATE_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  // Attributes
+  private final CatalogGenerator generator;
+
+  /**
+   * Instantiates a writer.
+   *
+   * @param generator catalog to write
+   */
+  public CatalogFileWriter(CatalogGenerator generator) {
+    this.generator = generator;
+  }
+
+  // Methods
+  /**
+   * Write the catalog as a sql script.
+   *
+   * @param file script to write, replaced if it exists
+   * @throws IOException if the file cannot be written
+   */
+  public void writeSql(Path file) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writeSql(writer);
+    }
+    LOGGER.info("Generator: sql script written to {}", file);
+  }
+
+  /**
+   * Write the catalog as a sql script.
+   *
+   * @param writer where to write the script
+   * @throws IOException if the script cannot be written
+   */
+  public void writeSql(Writer writer) throws IOException {
+
+    for (int id = 1; id <= generator.getCompanies(); id++) {
+      Company company = generator.company(id);
+      writer.write(id % ROWS_PER_INSERT == 1 ? "insert into company (id,name) values\n" : ",\n");
+      writer.write("(" + company.getId() + "," + sqlString(company.getName()) + ")");
+      if (id % ROWS_PER_INSERT == 0 || id == generator.getCompanies()) {
+        writer.write(";\n");
+      }
+    }
+
+    for (long id = 1; id <= generator.getComputers(); id++) {
+      Computer computer = generator.computer(id);
+      writer.write(id % ROWS_PER_INSERT == 1 ? "insert into computer "
+          + "(id,name,introduced,discontinued,company_id,company_name) values\n" : ",\n");
+      writer.write("(" + computer.getId() + "," + sqlString(computer.getName()) + ","
+          + sqlDate(computer.getIntroduced()) + "," + sqlDate(computer.getDiscontinued()) + ","
+          + (computer.getCompany() == null ? "null" : computer.getCompany().getId()) + ","
+          + sqlString(computer.getCompanyName()) + ")");
+      if (id % ROWS_PER_INSERT == 0 || id == generator.getComputers()) {
+        writer.write(";\n");
+      }
+    }
+
+    writer.write("delete from hibernate_sequences where sequence_name = 'computer';\n");
+    writer.write("insert into hibernate_sequences (sequence_name,next_val) values ('computer',"
+        + (generator.getComputers() + 1L) + ");\n");
+  }
+
+  /**
+   * Write the catalog as csv table dumps.
+   *
+   * @param directory directory of the files, created if needed
+   * @throws IOException if a file cannot be written
+   */
+  public void writeCsv(Path directory) throws IOException {
+
+    Files.createDirectories(directory);
+
+    try (BufferedWriter writer =
+        Files.newBufferedWriter(directory.resolve(COMPANY_CSV), StandardCharsets.UTF_8)) {
+      writer.write("id,name\n");
+      for (int id = 1; id <= generator.getCompanies(); id++) {
+        Company company = generator.company(id);
+        writer.write(company.getId() + "," + company.getName() + "\n");
+      }
+    }
+
+    try (BufferedWriter writer =
+        Files.newBufferedWriter(directory.resolve(COMPUTER_CSV), StandardCharsets.UTF_8)) {
+      writer.write("id,name,introduced,discontinued,company_id,company_name\n");
+      for (long id = 1; id <= generator.getComputers(); id++) {
+        Computer computer = generator.computer(id);
+        writer.write(computer.getId() + "," + computer.getName() + ","
+            + csvDate(computer.getIntroduced()) + "," + csvDate(computer.getDiscontinued()) + ","
+            + (computer.getCompany() == null ? "" : computer.getCompany().getId()) + ","
+            + (computer.getCompanyName() == null ? "" : computer.getCompanyName()) + "\n");
+      }
+    }
+
+    LOGGER.info("Generator: csv files written to {}", directory);
+  }
+
+  // Generated names hold no quote
+  private static String sqlString(String value) {
+    return value == null ? "null" : "'" + value + "'";
+  }
+
+  private static String sqlDate(LocalDateTime date) {
+    return date == null ? "null" : "'" + date.format(DATE_FORMAT) + "'";
+  }
+
+  private static String csvDate(LocalDateTime date) {
+    return date == null ? "" : date.format(DATE_FORMAT);
+  }
+}
@@ -0,0 +1,196 @@
+package com.excilys.cdb.daos.generator;
+
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic catalog of companies and computers, for scale tests and benchmarks.
+ * The same seed and sizes always give the same rows, whatever the order and the threads they are
+ * generated in: every row is drawn from a random stream of its own.
+ *
+ * <p>Distributions follow the reference catalog:
+ * <ul>
+ * <li>company sizes are skewed, a few companies owning most computers (Zipf law)</li>
+ * <li>some computers have no company</li>
+ * <li>a fifth of the computers have no introduced date, most recent dates being more frequent</li>
+ * <li>a third of the introduced computers are discontinued, always after their introduction</li>
+ * <li>computers without introduced date are never discontinued, as the validator requires</li>
+ * </ul>
+ *
+ * <p>Names only hold letters, digits, spaces, dots and dashes, so they need no escaping in sql or
+ * csv files. Company names are unique, computer names are not.
+ *
+ * @author Aurelien.R
+ */
+public class CatalogGenerator {
+
+  // Constants
+  public static final long DEFAULT_SEED = 42;
+  private static final double COMPANY_SKEW = 1.0;
+  private static final double NO_COMPANY_RATE = 0.05;
+  private static final double NO_INTRODUCED_RATE = 0.2;
+  private static final double DISCONTINUED_RATE = 0.35;
+  private static final LocalDateTime FIRST_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+  private static final int DATE_RANGE_DAYS = 16800;
+  private static final int MIN_LIFETIME_DAYS = 30;
+  private static final int MAX_LIFETIME_DAYS = 4000;
+  private static final long NAME_STRIDE = 1031;
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private static final String[] COMPANY_PREFIXES = { "Acu", "Alta", "Bell", "Cyber", "Data",
+      "Digi", "Elec", "Fair", "Gen", "Hyper", "Info", "Inter", "Kilo", "Logi", "Macro", "Micro",
+      "Nano", "Omni", "Tele", "Vi" };
+  private static final String[] COMPANY_ROOTS = { "tron", "tech", "net", "soft", "corp", "com",
+      "dyne", "star", "logic", "quest", "vision", "works", "link", "core", "max", "wave", "point",
+      "gate", "scan", "sys" };
+  private static final String[] COMPANY_SUFFIXES = { "Inc.", "Corporation", "Systems",
+      "Computers", "Electronics", "Ltd.", "Industries", "Labs", "International", "Group" };
+  private static final String[] COMPUTER_FAMILIES = { "Apex", "Atlas", "Cobalt", "Comet", "Delta",
+      "Falcon", "Galaxy", "Helix", "Ion", "Jupiter", "Lynx", "Matrix", "Nova", "Onyx", "Orion",
+      "Pulsar", "Quasar", "Sigma", "Titan", "Vector", "Vega", "Zenith" };
+  private static final String[] COMPUTER_VARIANTS = { "", "", "", "", " Pro", " II", " XL",
+      " Mini", " Plus", " SE", " Portable", " Workstation" };
+
+  // Attributes
+  private final long seed;
+  private final int companies;
+  private final int computers;
+  // Cumulated share of each company rank, and the company id of each rank
+  private final double[] rankShares;
+  private final int[] rankCompanies;
+
+  /**
+   * Instantiates a generator.
+   *
+   * @param seed seed of the random streams
+   * @param companies number of companies, ids from 1 to companies
+   * @param computers number of computers, ids from 1 to computers
+   */
+  public CatalogGenerator(long seed, int companies, int computers) {
+    if (companies < 0 || computers < 0) {
+      throw new IllegalArgumentException("Negative catalog size: " + companies + " companies, "
+          + computers + " computers");
+    }
+    this.seed = seed;
+    this.companies = companies;
+    this.computers = computers;
+
+    // Zipf shares, the largest company being any of them
+    rankShares = new double[companies];
+    double total = 0;
+    for (int rank = 0; rank < companies; rank++) {
+      total += 1 / Math.pow(rank + 1, COMPANY_SKEW);
+      rankShares[rank] = total;
+    }
+    for (int rank = 0; rank < companies; rank++) {
+      rankShares[rank] /= total;
+    }
+    rankCompanies = new int[companies];
+    for (int rank = 0; rank < companies; rank++) {
+      rankCompanies[rank] = rank + 1;
+    }
+    Random random = new Random(seed);
+    for (int i = companies - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swapped = rankCompanies[i];
+      rankCompanies[i] = rankCompanies[j];
+      rankCompanies[j] = swapped;
+    }
+  }
+
+  // Methods
+  /**
+   * Generate a company.
+   *
+   * @param id id of the company, from 1 to the number of companies
+   * @return the company
+   */
+  public Company company(long id) {
+    return new Company(id, companyName(id));
+  }
+
+  /**
+   * Name of a company, unique.
+   *
+   * @param id id of the company
+   * @return its name
+   */
+  public static String companyName(long id) {
+    int prefixes = COMPANY_PREFIXES.length;
+    int roots = COMPANY_ROOTS.length;
+    int suffixes = COMPANY_SUFFIXES.length;
+    int combinations = prefixes * roots * suffixes;
+    long round = (id - 1) / combinations;
+    // Multiplied by a number prime with the combinations, consecutive ids share no part
+    long index = (id - 1) % combinations * NAME_STRIDE % combinations;
+    String name = COMPANY_PREFIXES[(int) (index % prefixes)]
+        + COMPANY_ROOTS[(int) (index / prefixes % roots)] + " "
+        + COMPANY_SUFFIXES[(int) (index / (prefixes * roots) % suffixes)];
+    return round == 0 ? name : name + " " + (round + 1);
+  }
+
+  /**
+   * Generate a computer, with its company and company name.
+   *
+   * @param id id of the computer, from 1 to the number of computers
+   * @return the computer
+   */
+  public Computer computer(long id) {
+    SplittableRandom random = new SplittableRandom(mix(seed ^ mix(id)));
+
+    String name = COMPUTER_FAMILIES[random.nextInt(COMPUTER_FAMILIES.length)] + " "
+        + random.nextInt(100, 10000)
+        + COMPUTER_VARIANTS[random.nextInt(COMPUTER_VARIANTS.length)];
+
+    Company company = null;
+    if (companies > 0 && random.nextDouble() >= NO_COMPANY_RATE) {
+      int rank = Arrays.binarySearch(rankShares, random.nextDouble());
+      rank = rank >= 0 ? rank : Math.min(-rank - 1, companies - 1);
+      company = company(rankCompanies[rank]);
+    }
+
+    // Recent dates more frequent, the latest of two uniform ones being taken
+    LocalDateTime introduced = null;
+    LocalDateTime discontinued = null;
+    if (random.nextDouble() >= NO_INTRODUCED_RATE) {
+      int days = Math.max(random.nextInt(DATE_RANGE_DAYS), random.nextInt(DATE_RANGE_DAYS));
+      introduced = FIRST_DATE.plusDays(days);
+      if (random.nextDouble() < DISCONTINUED_RATE) {
+        discontinued =
+            introduced.plusDays(random.nextInt(MIN_LIFETIME_DAYS, MAX_LIFETIME_DAYS + 1));
+      }
+    }
+
+    Computer computer = new Computer(id, name, company, discontinued, introduced);
+    computer.setCompanyName(company == null ? null : company.getName());
+    return computer;
+  }
+
+  /**
+   * Finalizer of SplitMix64, spreading close seeds over unrelated streams.
+   */
+  private static long mix(long value) {
+    long z = value + GOLDEN_GAMMA;
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  // Getters
+  public long getSeed() {
+    return seed;
+  }
+
+  public int getCompanies() {
+    return companies;
+  }
+
+  public int getComputers() {
+    return computers;
+  }
+}
@@ -0,0 +1,90 @@
+package com.excilys.cdb.daos.generator;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+
+/**
+ * Command line of the catalog generator, loading a database and/or writing files:
+ *
+ * <pre>
+ * java -cp cdb-persistence.jar:... com.excilys.cdb.daos.generator.CatalogGeneratorMain \
+ *     companies computers [--seed n] [--threads n] [--jdbc url user password]
+ *     [--sql file] [--csv directory]
+ * </pre>
+ *
+ * <p>For instance, a million computers of 2000 companies into a local MySQL database:
+ * {@code 2000 1000000 --jdbc
+ * jdbc:mysql://localhost:3306/computer-database-db?rewriteBatchedStatements=true root admin}.
+ *
+ * @author Aurelien.R
+ */
+public class CatalogGeneratorMain {
+
+  // Constants
+  private static final String USAGE = "Usage: CatalogGeneratorMain companies computers "
+      + "[--seed n] [--threads n] [--jdbc url user password] [--sql file] [--csv directory]";
+
+  /**
+   * Generate the catalog of the arguments.
+   *
+   * @param args command line arguments
+   * @throws SQLException if the catalog cannot be loaded
+   * @throws IOException if a file cannot be written
+   */
+  public static void main(String[] args) throws SQLException, IOException {
+
+    if (args.length < 2) {
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    int companies = Integer.parseInt(args[0]);
+    int computers = Integer.parseInt(args[1]);
+    long seed = CatalogGenerator.DEFAULT_SEED;
+    Integer threads = null;
+    String[] jdbc = null;
+    String sql = null;
+    String csv = null;
+
+    for (int i = 2; i < args.length; i++) {
+      switch (args[i]) {
+        case "--seed":
+          seed = Long.parseLong(args[++i]);
+          break;
+        case "--threads":
+          threads = Integer.parseInt(args[++i]);
+          break;
+        case "--jdbc":
+          jdbc = new String[] { args[++i], args[++i], args[++i] };
+          break;
+        case "--sql":
+          sql = args[++i];
+          break;
+        case "--csv":
+          csv = args[++i];
+          break;
+        default:
+          System.err.println("Unknown option: " + args[i] + "\n" + USAGE);
+          System.exit(2);
+      }
+    }
+
+    CatalogGenerator generator = new CatalogGenerator(seed, companies, computers);
+    if (jdbc != null) {
+      CatalogJdbcLoader loader =
+          new CatalogJdbcLoader(generator, new DriverManagerDataSource(jdbc[0], jdbc[1], jdbc[2]));
+      if (threads != null) {
+        loader.setThreads(threads);
+      }
+      loader.load();
+    }
+    if (sql != null) {
+      new CatalogFileWriter(generator).writeSql(Paths.get(sql));
+    }
+    if (csv != null) {
+      new CatalogFileWriter(generator).writeCsv(Paths.get(csv));
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package com.excilys.cdb.daos.generator;
+
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+/**
+ * Stream a generated catalog into a database with batched JDBC inserts: the companies first, then
+ * the computers by chunks of consecutive ids, loaded in parallel, each chunk in its own
+ * transaction. The computer id sequence is set after the last computer. Works with H2 and MySQL,
+ * where rewriteBatchedStatements=true in the url makes the batches multi-row inserts.
+ *
+ * <p>The tables must exist, with the company_name column of config/5-COMPANY-NAME.sql, and hold
+ * none of the generated ids.
+ *
+ * @author Aurelien.R
+ */
+public class CatalogJdbcLoader {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(CatalogJdbcLoader.class);
+
+  // Constants
+  private static final String INSERT_COMPANY = "INSERT INTO company (id, name) VALUES (?, ?)";
+  private static final String INSERT_COMPUTER = "INSERT INTO computer "
+      + "(id, name, introduced, discontinued, company_id, company_name, version) "
+      + "VALUES (?, ?, ?, ?, ?, ?, 0)";
+  private static final String DELETE_SEQUENCE =
+      "DELETE FROM hibernate_sequences WHERE sequence_name = 'computer'";
+  private static final String INSERT_SEQUENCE =
+      "INSERT INTO hibernate_sequences (sequence_name, next_val) VALUES ('computer', ?)";
+
+  // Configuration
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private int batchSize = 1000;
+  private int chunkSize = 50000;
+
+  // Attributes
+  private final CatalogGenerator generator;
+  private final DataSource dataSource;
+
+  /**
+   * Instantiates a loader.
+   *
+   * @param generator catalog to load
+   * @param dataSource database to load it into
+   */
+  public CatalogJdbcLoader(CatalogGenerator generator, DataSource dataSource) {
+    this.generator = generator;
+    this.dataSource = dataSource;
+  }
+
+  // Methods
+  /**
+   * Load the catalog.
+   *
+   * @throws SQLException if a chunk cannot be inserted, the chunks already committed are kept
+   */
+  public void load() throws SQLException {
+
+    long start = System.currentTimeMillis();
+    LOGGER.info("Generator: loading {} companies and {} computers, seed {}, {} threads",
+        generator.getCompanies(), generator.getComputers(), generator.getSeed(), threads);
+
+    loadCompanies();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Void>> chunks = new ArrayList<>();
+      for (long first = 1; first <= generator.getComputers(); first += chunkSize) {
+        long from = first;
+        long to = Math.min(first + chunkSize - 1, generator.getComputers());
+        chunks.add(executor.submit(() -> {
+          loadComputers(from, to);
+          return null;
+        }));
+      }
+      for (Future<Void> chunk : chunks) {
+        chunk.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while loading computers", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      }
+      throw new SQLException("Cannot load computers", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    loadSequence();
+
+    long elapsed = Math.max(1, System.currentTimeMillis() - start);
+    LOGGER.info("Generator: {} computers loaded in {} ms ({} computers/s)",
+        generator.getComputers(), elapsed, generator.getComputers() * 1000L / elapsed);
+  }
+
+  private void loadCompanies() throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try (PreparedStatement statement = connection.prepareStatement(INSERT_COMPANY)) {
+        for (int id = 1; id <= generator.getCompanies(); id++) {
+          Company company = generator.company(id);
+          statement.setLong(1, company.getId());
+          statement.setString(2, company.getName());
+          statement.addBatch();
+          if (id % batchSize == 0) {
+            statement.executeBatch();
+          }
+        }
+        statement.executeBatch();
+      }
+      connection.commit();
+    }
+  }
+
+  private void loadComputers(long from, long to) throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try (PreparedStatement statement = connection.prepareStatement(INSERT_COMPUTER)) {
+        for (long id = from; id <= to; id++) {
+          Computer computer = generator.computer(id);
+          statement.setLong(1, computer.getId());
+          statement.setString(2, computer.getName());
+          setTimestamp(statement, 3, computer.getIntroduced());
+          setTimestamp(statement, 4, computer.getDiscontinued());
+          if (computer.getCompany() == null) {
+            statement.setNull(5, Types.BIGINT);
+          } else {
+            statement.setLong(5, computer.getCompany().getId());
+          }
+          statement.setString(6, computer.getCompanyName());
+          statement.addBatch();
+          if ((id - from + 1) % batchSize == 0) {
+            statement.executeBatch();
+          }
+        }
+        statement.executeBatch();
+      }
+      connection.commit();
+    }
+    LOGGER.debug("Generator: computers {} to {} loaded", from, to);
+  }
+
+  /**
+   * Ids handed out by Hibernate (pooled-lo optimizer) start after the generated ones.
+   */
+  private void loadSequence() throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try (PreparedStatement delete = connection.prepareStatement(DELETE_SEQUENCE);
+          PreparedStatement insert = connection.prepareStatement(INSERT_SEQUENCE)) {
+        delete.executeUpdate();
+        insert.setLong(1, generator.getComputers() + 1L);
+        insert.executeUpdate();
+      }
+      connection.commit();
+    }
+  }
+
+  private static void setTimestamp(PreparedStatement statement, int index, LocalDateTime date)
+      throws SQLException {
+    if (date == null) {
+      statement.setNull(index, Types.TIMESTAMP);
+    } else {
+      statement.setTimestamp(index, Timestamp.valueOf(date));
+    }
+  }
+
+  // Setters
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+}
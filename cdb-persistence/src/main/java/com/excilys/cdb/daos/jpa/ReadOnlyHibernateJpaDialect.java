@@ -0,0 +1,63 @@
+package com.excilys.cdb.daos.jpa;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+
+/**
+ * Hibernate dialect loading entities read-only in read-only transactions: Hibernate keeps no
+ * snapshot of them and skips their dirty checking. The flush mode MANUAL and the JDBC read-only
+ * flag are already set by HibernateJpaDialect.
+ *
+ * @author Aurelien.R
+ */
+public class ReadOnlyHibernateJpaDialect extends HibernateJpaDialect {
+
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+      throws PersistenceException, SQLException, TransactionException {
+
+    Object transactionData = super.beginTransaction(entityManager, definition);
+    if (!definition.isReadOnly()) {
+      return transactionData;
+    }
+
+    Session session = entityManager.unwrap(Session.class);
+    boolean previousDefaultReadOnly = session.isDefaultReadOnly();
+    session.setDefaultReadOnly(true);
+    return new ReadOnlyTransactionData(transactionData, session, previousDefaultReadOnly);
+  }
+
+  @Override
+  public void cleanupTransaction(Object transactionData) {
+    if (transactionData instanceof ReadOnlyTransactionData) {
+      ReadOnlyTransactionData readOnlyData = (ReadOnlyTransactionData) transactionData;
+      // The entity manager may outlive the transaction
+      readOnlyData.session.setDefaultReadOnly(readOnlyData.previousDefaultReadOnly);
+      super.cleanupTransaction(readOnlyData.transactionData);
+    } else {
+      super.cleanupTransaction(transactionData);
+    }
+  }
+
+  private static class ReadOnlyTransactionData {
+    private final Object transactionData;
+    private final Session session;
+    private final boolean previousDefaultReadOnly;
+
+    private ReadOnlyTransactionData(Object transactionData, Session session,
+        boolean previousDefaultReadOnly) {
+      this.transactionData = transactionData;
+      this.session = session;
+      this.previousDefaultReadOnly = previousDefaultReadOnly;
+    }
+  }
+}
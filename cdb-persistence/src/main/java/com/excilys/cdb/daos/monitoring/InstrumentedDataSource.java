@@ -0,0 +1,295 @@
+package com.excilys.cdb.daos.monitoring;
+
+import com.excilys.cdb.monitoring.LatencyHistogram;
+import com.excilys.cdb.monitoring.RequestStatistics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource timing every statement executed on its connections, replacing hibernate showSql.
+ *
+ * <p>Timings are recorded in a latency histogram per normalized SQL string (see
+ * {@link #normalize(String)}), up to maxStatements distinct ones, the others being recorded under
+ * {@link #OTHER_STATEMENTS}. Statements slower than slowThresholdMs are logged at WARN with their
+ * SQL and bound parameters on the ".slow" logger, one out of sampleEvery of the others is logged
+ * at INFO on the ".sample" logger. Parameters are only kept while one of these loggers is on.
+ *
+ * <p>Statements and fetched rows are also counted in the {@link RequestStatistics} of the
+ * executing thread, when it collects them.
+ *
+ * @author Aurelien.R
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+  // Loggers
+  private static final Logger SLOW_LOGGER =
+      LoggerFactory.getLogger(InstrumentedDataSource.class.getName() + ".slow");
+  private static final Logger SAMPLE_LOGGER =
+      LoggerFactory.getLogger(InstrumentedDataSource.class.getName() + ".sample");
+
+  // Constants
+  public static final String OTHER_STATEMENTS = "other";
+  private static final int MAX_PARAMETER_LENGTH = 100;
+  private static final String IN_LIST = "IN (?...)";
+  private static final Pattern IN_LIST_PATTERN = Pattern.compile(
+      "\\bIN\\s*\\(\\s*(?:\\?|[-+]?\\d+(?:\\.\\d+)?|'(?:[^']|'')*')"
+          + "(?:\\s*,\\s*(?:\\?|[-+]?\\d+(?:\\.\\d+)?|'(?:[^']|'')*'))*\\s*\\)",
+      Pattern.CASE_INSENSITIVE);
+
+  // Configuration
+  private long slowThresholdMs = 200;
+  private long sampleEvery = 1000;
+  private int maxStatements = 500;
+
+  // Attributes
+  private final LatencyHistogram allStatements = new LatencyHistogram();
+  private final Map<String, LatencyHistogram> statements = new ConcurrentHashMap<>();
+  private final AtomicLong executed = new AtomicLong();
+
+  public InstrumentedDataSource() {
+  }
+
+  public InstrumentedDataSource(DataSource targetDataSource) {
+    super(targetDataSource);
+  }
+
+  // Methods
+  @Override
+  public Connection getConnection() throws SQLException {
+    return wrapConnection(getTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return wrapConnection(getTargetDataSource().getConnection(username, password));
+  }
+
+  /**
+   * Latencies of every statement.
+   *
+   * @return the histogram
+   */
+  public LatencyHistogram getAllStatements() {
+    return allStatements;
+  }
+
+  /**
+   * Latencies per SQL string.
+   *
+   * @return read only view of the histograms
+   */
+  public Map<String, LatencyHistogram> getStatements() {
+    return Collections.unmodifiableMap(statements);
+  }
+
+  /**
+   * Statement key of a SQL string: lists of parameters or literals after IN are collapsed into
+   * "IN (?...)", so that the same query on lists of different sizes is recorded once.
+   *
+   * @param sql the sql to normalize
+   * @return the normalized sql
+   */
+  public static String normalize(String sql) {
+    return IN_LIST_PATTERN.matcher(sql).replaceAll(IN_LIST);
+  }
+
+  /**
+   * Record the execution of a statement.
+   *
+   * @param key normalized sql of the statement
+   * @param sql the sql executed
+   * @param nanos time spent executing it
+   * @param parameters bound parameters, null if not kept
+   */
+  protected void record(String key, String sql, long nanos, Parameters parameters) {
+
+    allStatements.record(nanos);
+    RequestStatistics.statementExecuted(nanos);
+    if (!statements.containsKey(key) && statements.size() >= maxStatements) {
+      key = OTHER_STATEMENTS;
+    }
+    statements.computeIfAbsent(key, k -> new LatencyHistogram()).record(nanos);
+
+    long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+    if (millis >= slowThresholdMs) {
+      SLOW_LOGGER.warn("Slow statement, {} ms: {} parameters: {}", millis, sql,
+          parameters == null ? "[]" : parameters);
+    } else if (sampleEvery > 0 && executed.incrementAndGet() % sampleEvery == 0
+        && SAMPLE_LOGGER.isInfoEnabled()) {
+      SAMPLE_LOGGER.info("Sampled statement, {} us: {} parameters: {}",
+          TimeUnit.NANOSECONDS.toMicros(nanos), sql, parameters == null ? "[]" : parameters);
+    }
+  }
+
+  private Connection wrapConnection(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+        new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+          // Identity of the proxy, connections are compared when released
+          if (method.getName().equals("equals")) {
+            return proxy == args[0];
+          }
+          if (method.getName().equals("hashCode")) {
+            return System.identityHashCode(proxy);
+          }
+          Object result = invoke(connection, method, args);
+          if (result instanceof CallableStatement) {
+            return wrapStatement((Statement) result, CallableStatement.class, (String) args[0]);
+          }
+          if (result instanceof PreparedStatement) {
+            return wrapStatement((Statement) result, PreparedStatement.class, (String) args[0]);
+          }
+          if (result instanceof Statement) {
+            return wrapStatement((Statement) result, Statement.class, null);
+          }
+          return result;
+        });
+  }
+
+  private Statement wrapStatement(Statement statement, Class<? extends Statement> type,
+      String preparedSql) {
+
+    // Parameters are kept as bound, and only formatted when the statement is logged
+    Parameters parameters = preparedSql != null
+        && (SLOW_LOGGER.isWarnEnabled() || SAMPLE_LOGGER.isInfoEnabled()) ? new Parameters()
+            : null;
+    String preparedKey = preparedSql == null ? null : normalize(preparedSql);
+
+    return (Statement) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+        new Class<?>[] { type }, (proxy, method, args) -> {
+          String name = method.getName();
+
+          // Bound parameters, for the slow statements log
+          if (parameters != null && name.startsWith("set") && args != null && args.length >= 2
+              && args[0] instanceof Integer) {
+            parameters.set((Integer) args[0], name.equals("setNull") ? null : args[1]);
+          } else if (parameters != null && name.equals("clearParameters")) {
+            parameters.clear();
+          }
+
+          if (!name.startsWith("execute")) {
+            Object result = invoke(statement, method, args);
+            return result instanceof ResultSet ? wrapResultSet((ResultSet) result) : result;
+          }
+
+          String sql = preparedSql != null ? preparedSql
+              : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0]
+                  : "<batch>";
+          String key = preparedKey != null ? preparedKey : normalize(sql);
+          // Batches are timed as a whole, whatever their size
+          boolean batch = name.startsWith("executeBatch") || name.startsWith("executeLargeBatch");
+          if (batch) {
+            sql = sql + " /* batch */";
+            key = key + " /* batch */";
+          }
+          long start = System.nanoTime();
+          try {
+            Object result = invoke(statement, method, args);
+            return result instanceof ResultSet ? wrapResultSet((ResultSet) result) : result;
+          } finally {
+            record(key, sql, System.nanoTime() - start, batch ? null : parameters);
+          }
+        });
+  }
+
+  private static ResultSet wrapResultSet(ResultSet resultSet) {
+    // Rows are only counted for the threads collecting request statistics
+    if (RequestStatistics.current() == null) {
+      return resultSet;
+    }
+    return (ResultSet) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+        new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+          Object result = invoke(resultSet, method, args);
+          if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            RequestStatistics.rowFetched();
+          }
+          return result;
+        });
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+
+  /**
+   * Parameters bound to a prepared statement, by index from 1.
+   */
+  protected static final class Parameters {
+
+    private Object[] values = new Object[8];
+    private int count;
+
+    void set(int index, Object value) {
+      if (index > values.length) {
+        values = Arrays.copyOf(values, Math.max(index, values.length * 2));
+      }
+      values[index - 1] = value;
+      count = Math.max(count, index);
+    }
+
+    void clear() {
+      Arrays.fill(values, 0, count, null);
+      count = 0;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder formatted = new StringBuilder("[");
+      for (int i = 0; i < count; i++) {
+        if (i > 0) {
+          formatted.append(", ");
+        }
+        Object value = values[i];
+        String text = value instanceof byte[] ? "<" + ((byte[]) value).length + " bytes>"
+            : String.valueOf(value);
+        if (text.length() > MAX_PARAMETER_LENGTH) {
+          text = text.substring(0, MAX_PARAMETER_LENGTH) + "...";
+        }
+        formatted.append(i + 1).append('=').append(text);
+      }
+      return formatted.append(']').toString();
+    }
+  }
+
+  // Setters
+  public void setSlowThresholdMs(long slowThresholdMs) {
+    this.slowThresholdMs = slowThresholdMs;
+  }
+
+  /**
+   * Log one statement out of sampleEvery under the slow threshold, 0 to log none.
+   *
+   * @param sampleEvery sampling period
+   */
+  public void setSampleEvery(long sampleEvery) {
+    this.sampleEvery = sampleEvery;
+  }
+
+  public void setMaxStatements(int maxStatements) {
+    this.maxStatements = maxStatements;
+  }
+}
@@ -0,0 +1,27 @@
+package com.excilys.cdb.daos.monitoring;
+
+import com.excilys.cdb.monitoring.RequestStatistics;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Count the entities loaded by Hibernate in the {@link RequestStatistics} of the loading thread,
+ * from the database or from the second level cache. The statistics of the session factory
+ * cannot be used for this: they are shared by all the threads.
+ *
+ * @author Aurelien.R
+ */
+public class RequestStatisticsInterceptor extends EmptyInterceptor {
+
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames,
+      Type[] types) {
+    RequestStatistics.entityLoaded();
+    return false;
+  }
+}
@@ -3,11 +3,28 @@ package com.excilys.cdb.daos.repositories;
 import com.excilys.cdb.models.Company;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
 public interface CompanyRepository extends JpaRepository<Company, Long> {
 
   List<Company> findByName(String lastname);
-  
+
+  // Company list is read on every computer form, keep it in the query cache
+  @Override
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+  List<Company> findAll();
+
+  // Single statement delete, the company is not loaded first
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query(value = "DELETE FROM Company c WHERE c.id = :id")
+  int deleteById(@Param("id") long id);
 }
@@ -1,29 +1,81 @@
 package com.excilys.cdb.daos.repositories;
 
+import com.excilys.cdb.models.Company;
 import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ComputerRepository extends JpaRepository<Computer, Long> {
+public interface ComputerRepository
+    extends JpaRepository<Computer, Long>, ComputerRepositoryCustom {
+
+  // Flat view of a computer and its company name, selected in one statement
+  String COMPUTER_VIEW = "new com.excilys.cdb.models.ComputerView("
+      + "c.id, c.name, c.introduced, c.discontinued, cpy.id, cpy.name)";
 
   List<Computer> findByName(String name);
 
-  @Query(value = "SELECT c FROM Computer c LEFT JOIN c.company cpy "
+  @Query(value = "SELECT " + COMPUTER_VIEW + " FROM Computer c LEFT JOIN c.company cpy "
+      + "WHERE (c.name LIKE %:search% OR cpy.name LIKE %:search% )")
+  List<ComputerView> findByNameOrCompanyName(@Param("search") String search, Pageable pageable);
+
+  @Query(value = "SELECT " + COMPUTER_VIEW + " FROM Computer c LEFT JOIN c.company cpy "
       + "WHERE (c.name LIKE %:search% OR cpy.name LIKE %:search% )")
-  Page<Computer> findByNameOrCompanyName(@Param("search") String search, Pageable pageable);
+  Slice<ComputerView> findSliceByNameOrCompanyName(@Param("search") String search,
+      Pageable pageable);
 
-  
   @Query(value = "SELECT COUNT(c) FROM Computer c LEFT JOIN c.company cpy "
       + "WHERE (c.name LIKE %:search% OR cpy.name LIKE %:search% )")
   long countByNameOrCompanyName(@Param("search")String searchName);
 
-  void deleteByCompany_Id(long id);
+  @Query(value = "SELECT " + COMPUTER_VIEW + " FROM Computer c LEFT JOIN c.company cpy "
+      + "WHERE c.id IN :ids")
+  List<ComputerView> findByIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
+
+  // Ordered by id, for the search index to append to its posting lists
+  @Query(value = "SELECT c.id, c.name, cpy.id FROM Computer c LEFT JOIN c.company cpy "
+      + "ORDER BY c.id")
+  List<Object[]> findAllSearchEntries();
+
+  // Single statement update, only if nobody updated the computer since the given version
+  @Modifying
+  @Query(value = "UPDATE Computer c SET c.name = :name, c.introduced = :introduced, "
+      + "c.discontinued = :discontinued, c.company = :company, c.companyName = :companyName, "
+      + "c.version = c.version + 1 WHERE c.id = :id AND c.version = :version")
+  int updateIfVersion(@Param("id") long id, @Param("version") long version,
+      @Param("name") String name, @Param("introduced") LocalDateTime introduced,
+      @Param("discontinued") LocalDateTime discontinued, @Param("company") Company company,
+      @Param("companyName") String companyName);
+
+  @Modifying
+  @Query(value = "DELETE FROM Computer c WHERE c.id IN :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+  // Id of a company computer at a given offset after an id, to bound a range delete. Offsets are
+  // walked on the company_id index, no computer is loaded
+  @Query(value = "SELECT c.id FROM Computer c WHERE c.company.id = :companyId AND c.id > :afterId "
+      + "ORDER BY c.id")
+  List<Long> findIdsByCompanyAfter(@Param("companyId") long companyId,
+      @Param("afterId") long afterId, Pageable pageable);
+
+  // Set based delete of a range of company computers, committed on its own unless called in a
+  // transaction
+  @Transactional
+  @Modifying(clearAutomatically = true)
+  @Query(value = "DELETE FROM Computer c WHERE c.company.id = :companyId "
+      + "AND c.id > :afterId AND c.id <= :toId")
+  int deleteByCompanyInRange(@Param("companyId") long companyId, @Param("afterId") long afterId,
+      @Param("toId") long toId);
 }
@@ -0,0 +1,42 @@
+package com.excilys.cdb.daos.repositories;
+
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.KeysetCursor;
+import com.excilys.cdb.models.OrderBy;
+
+import org.springframework.data.domain.Sort.Direction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Computer queries that cannot be expressed with Spring Data query methods.
+ *
+ * @author Aurelien.R
+ */
+public interface ComputerRepositoryCustom {
+
+  /**
+   * Find a page of computers following (or preceding) a cursor, seeking on the ordering
+   * column and the id instead of skipping rows with an offset.
+   *
+   * @param search search on computer or company name, ignored if ids is not null
+   * @param ids ids of the matching computers when already known, null otherwise
+   * @param orderBy ordering column
+   * @param direction ordering direction
+   * @param cursor position to start from, null for the first page
+   * @param limit maximum number of computers to return
+   * @return matching computer views, in the walk order (reversed when going backward)
+   */
+  List<ComputerView> findByKeyset(String search, Collection<Long> ids, OrderBy orderBy,
+      Direction direction, KeysetCursor cursor, int limit);
+
+  /**
+   * Stream every computer, ordered by id, the driver fetching export.fetchSize rows at a time.
+   * To be read in a transaction and closed.
+   *
+   * @return computer views, company name included
+   */
+  Stream<ComputerView> streamAll();
+}
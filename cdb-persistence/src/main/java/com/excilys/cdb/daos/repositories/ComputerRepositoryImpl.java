@@ -0,0 +1,147 @@
+package com.excilys.cdb.daos.repositories;
+
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.KeysetCursor;
+import com.excilys.cdb.models.OrderBy;
+
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort.Direction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+
+/**
+ * Implementation of the custom computer queries, picked up by Spring Data.
+ *
+ * <p>MySQL (and H2) sort NULL first in ascending order and last in descending order, the seek
+ * predicates follow the same rule so that computers without date or company are not skipped.
+ *
+ * @author Aurelien.R
+ */
+public class ComputerRepositoryImpl implements ComputerRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager em;
+
+  // Configuration
+  // Rows fetched at a time by the export: Integer.MIN_VALUE streams them one by one with MySQL,
+  // other drivers (H2) want a positive size
+  @Value("${export.fetchSize:1000}")
+  private int exportFetchSize;
+
+  @Override
+  public List<ComputerView> findByKeyset(String search, Collection<Long> ids, OrderBy orderBy,
+      Direction direction, KeysetCursor cursor, int limit) {
+
+    String column = column(orderBy);
+
+    // Going backward is walking the reversed order
+    boolean backward = cursor != null && cursor.isBackward();
+    boolean ascending = (direction == Direction.ASC) != backward;
+
+    StringBuilder jpql = new StringBuilder("SELECT ").append(ComputerRepository.COMPUTER_VIEW)
+        .append(" FROM Computer c LEFT JOIN c.company cpy ");
+    jpql.append(ids != null ? "WHERE c.id IN :ids "
+        : "WHERE (c.name LIKE :search OR cpy.name LIKE :search) ");
+
+    if (cursor != null) {
+      jpql.append("AND (").append(seekPredicate(orderBy, column, ascending, cursor.getValue()))
+          .append(") ");
+    }
+
+    String order = ascending ? " ASC" : " DESC";
+    if (orderBy != OrderBy.id) {
+      jpql.append("ORDER BY ").append(column).append(order).append(", c.id").append(order);
+    } else {
+      jpql.append("ORDER BY c.id").append(order);
+    }
+
+    TypedQuery<ComputerView> query = em.createQuery(jpql.toString(), ComputerView.class);
+    if (ids != null) {
+      query.setParameter("ids", ids);
+    } else {
+      query.setParameter("search", "%" + search + "%");
+    }
+    if (cursor != null) {
+      query.setParameter("id", cursor.getId());
+      if (orderBy != OrderBy.id && cursor.getValue() != null) {
+        query.setParameter("value", cursor.getValue());
+      }
+    }
+
+    return query.setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public Stream<ComputerView> streamAll() {
+
+    Query query = em.createQuery("SELECT " + ComputerRepository.COMPUTER_VIEW
+        + " FROM Computer c LEFT JOIN c.company cpy ORDER BY c.id", ComputerView.class)
+        .unwrap(Query.class).setFetchSize(exportFetchSize).setReadOnly(true);
+    ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY);
+
+    Spliterator<ComputerView> rows = new Spliterators.AbstractSpliterator<ComputerView>(
+        Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+      @Override
+      public boolean tryAdvance(Consumer<? super ComputerView> action) {
+        if (!results.next()) {
+          return false;
+        }
+        action.accept((ComputerView) results.get(0));
+        return true;
+      }
+    };
+    return StreamSupport.stream(rows, false).onClose(results::close);
+  }
+
+  /**
+   * Rows strictly after the cursor in the walked order.
+   */
+  private static String seekPredicate(OrderBy orderBy, String column, boolean ascending,
+      Object value) {
+
+    String cmp = ascending ? ">" : "<";
+    if (orderBy == OrderBy.id) {
+      return "c.id " + cmp + " :id";
+    }
+
+    String afterValue = column + " " + cmp + " :value OR (" + column + " = :value AND c.id "
+        + cmp + " :id)";
+    if (ascending) {
+      // NULL first: after a NULL come the other NULL then every value
+      return value == null ? "(" + column + " IS NULL AND c.id > :id) OR " + column
+          + " IS NOT NULL" : afterValue;
+    }
+    // NULL last: after a value come the smaller values then every NULL
+    return value == null ? column + " IS NULL AND c.id < :id"
+        : afterValue + " OR " + column + " IS NULL";
+  }
+
+  private static String column(OrderBy orderBy) {
+    switch (orderBy) {
+      case name:
+        return "c.name";
+      case introduced:
+        return "c.introduced";
+      case discontinued:
+        return "c.discontinued";
+      case company:
+        return "c.companyName";
+      case id:
+      default:
+        return "c.id";
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.excilys.cdb.daos.routing;
+
+import com.jolbox.bonecp.BoneCPConfig;
+import com.jolbox.bonecp.BoneCPDataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.AbstractFactoryBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+/**
+ * Connection pools of the read replicas, one per url of a comma separated list, configured as
+ * the primary pool. An empty list means no replica.
+ *
+ * @author Aurelien.R
+ */
+public class ReplicaPoolsFactoryBean extends AbstractFactoryBean<List<DataSource>> {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaPoolsFactoryBean.class);
+
+  // Configuration
+  private BoneCPDataSource primary;
+  private String urls;
+
+  @Override
+  public Class<?> getObjectType() {
+    return List.class;
+  }
+
+  @Override
+  protected List<DataSource> createInstance() throws Exception {
+    List<DataSource> pools = new ArrayList<>();
+    if (urls == null) {
+      return pools;
+    }
+    for (String url : urls.split(",")) {
+      if (url.trim().isEmpty()) {
+        continue;
+      }
+      BoneCPConfig config = primary.clone();
+      config.setJdbcUrl(url.trim());
+      config.setPoolName(primary.getPoolName() + "-replica-" + pools.size());
+      LOGGER.info("Replica pool {} on {}", config.getPoolName(), config.getJdbcUrl());
+      pools.add(new BoneCPDataSource(config));
+    }
+    return pools;
+  }
+
+  @Override
+  protected void destroyInstance(List<DataSource> pools) {
+    for (DataSource pool : pools) {
+      ((BoneCPDataSource) pool).close();
+    }
+  }
+
+  // Setters
+  public void setPrimary(BoneCPDataSource primary) {
+    this.primary = primary;
+  }
+
+  public void setUrls(String urls) {
+    this.urls = urls;
+  }
+}
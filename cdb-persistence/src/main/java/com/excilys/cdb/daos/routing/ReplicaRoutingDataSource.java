@@ -0,0 +1,199 @@
+package com.excilys.cdb.daos.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource sending read-only transactions to replicas, round-robin, and everything else to the
+ * primary. Replicas are checked periodically, a replica that fails the check or lags behind the
+ * primary by more than maxLagSeconds is skipped until it passes again. Without any available
+ * replica, read-only transactions go to the primary.
+ *
+ * <p>The routing is decided when the connection is acquired, this DataSource has to be wrapped in
+ * a LazyConnectionDataSourceProxy so that it happens once the transaction is read-only.
+ *
+ * @author Aurelien.R
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  // Constants
+  private static final String PRIMARY = "primary";
+  private static final String VALIDATION_QUERY = "/* ping */ SELECT 1";
+
+  // Configuration
+  private DataSource primary;
+  private List<DataSource> replicas = Collections.emptyList();
+  private long healthCheckSeconds = 5;
+  private String lagQuery;
+  private long maxLagSeconds = 5;
+
+  // Attributes
+  private final List<Replica> replicaStates = new ArrayList<>();
+  private final AtomicInteger next = new AtomicInteger();
+  private ScheduledExecutorService healthCheckExecutor;
+
+  // Lifecycle
+  @Override
+  public void afterPropertiesSet() {
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY, primary);
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = new Replica("replica-" + i, replicas.get(i));
+      replicaStates.add(replica);
+      targets.put(replica.key, replica.dataSource);
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    super.afterPropertiesSet();
+
+    if (replicaStates.isEmpty()) {
+      return;
+    }
+    checkReplicas();
+    if (healthCheckSeconds > 0) {
+      healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+      });
+      healthCheckExecutor.scheduleWithFixedDelay(this::checkReplicas, healthCheckSeconds,
+          healthCheckSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Stop checking replicas.
+   */
+  public void close() {
+    if (healthCheckExecutor != null) {
+      healthCheckExecutor.shutdownNow();
+    }
+  }
+
+  // Methods
+  @Override
+  protected Object determineCurrentLookupKey() {
+
+    if (replicaStates.isEmpty()
+        || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return PRIMARY;
+    }
+
+    // Next available replica, round-robin
+    int size = replicaStates.size();
+    int start = Math.floorMod(next.getAndIncrement(), size);
+    for (int i = 0; i < size; i++) {
+      Replica replica = replicaStates.get((start + i) % size);
+      if (replica.available) {
+        return replica.key;
+      }
+    }
+    return PRIMARY;
+  }
+
+  /**
+   * Check every replica, done periodically once started.
+   */
+  public void checkReplicas() {
+    for (Replica replica : replicaStates) {
+      boolean available = isAvailable(replica);
+      if (available != replica.available) {
+        LOGGER.warn("Replica {} is now {}", replica.key, available ? "available" : "unavailable");
+      }
+      replica.available = available;
+    }
+  }
+
+  /**
+   * A replica answers and, when a lag query is set, lags by at most maxLagSeconds. A NULL lag,
+   * as given by MySQL when replication is stopped, makes the replica unavailable.
+   */
+  private boolean isAvailable(Replica replica) {
+    try (Connection connection = replica.dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      if (lagQuery == null || lagQuery.trim().isEmpty()) {
+        statement.execute(VALIDATION_QUERY);
+        return true;
+      }
+      try (ResultSet rs = statement.executeQuery(lagQuery)) {
+        if (!rs.next()) {
+          return false;
+        }
+        long lag = rs.getLong(1);
+        if (rs.wasNull() || lag > maxLagSeconds) {
+          LOGGER.debug("Replica {} lags by {} s", replica.key, rs.wasNull() ? "unknown" : lag);
+          return false;
+        }
+        return true;
+      }
+    } catch (SQLException e) {
+      LOGGER.debug("Replica {} check failed: {}", replica.key, e.getMessage());
+      return false;
+    }
+  }
+
+  // Setters
+  public void setPrimary(DataSource primary) {
+    this.primary = primary;
+  }
+
+  public void setReplicas(List<DataSource> replicas) {
+    this.replicas = replicas;
+  }
+
+  /**
+   * Period of the replica checks, 0 to only check them at startup and through
+   * {@link #checkReplicas()}.
+   *
+   * @param healthCheckSeconds period in seconds
+   */
+  public void setHealthCheckSeconds(long healthCheckSeconds) {
+    this.healthCheckSeconds = healthCheckSeconds;
+  }
+
+  /**
+   * Query run on a replica returning its lag in seconds, empty to only check it answers.
+   *
+   * @param lagQuery the lag query
+   */
+  public void setLagQuery(String lagQuery) {
+    this.lagQuery = lagQuery;
+  }
+
+  public void setMaxLagSeconds(long maxLagSeconds) {
+    this.maxLagSeconds = maxLagSeconds;
+  }
+
+  private static class Replica {
+    private final String key;
+    private final DataSource dataSource;
+    private volatile boolean available;
+
+    private Replica(String key, DataSource dataSource) {
+      this.key = key;
+      this.dataSource = dataSource;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package junit.com.excilys.cdb.daos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.excilys.cdb.daos.generator.CatalogFileWriter;
+import com.excilys.cdb.daos.generator.CatalogGenerator;
+import com.excilys.cdb.daos.generator.CatalogJdbcLoader;
+import com.excilys.cdb.models.Computer;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rows of the catalog generator, and their loading into an in memory H2 database.
+ *
+ * @author Aurelien.R
+ */
+public class CatalogGeneratorIT {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(CatalogGeneratorIT.class);
+
+  // Constants
+  private static final String URL = "jdbc:h2:mem:generator;DB_CLOSE_DELAY=-1;MODE=MySQL";
+  private static final int COMPANIES = 50;
+  private static final int COMPUTERS = 5000;
+
+  private DriverManagerDataSource dataSource;
+  private JdbcTemplate jdbc;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START CatalogGeneratorIT ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END CatalogGeneratorIT ----------------\n");
+  }
+
+  /**
+   * Create the catalog tables.
+   */
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+    dataSource = new DriverManagerDataSource(URL);
+    jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE company (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+    jdbc.execute("CREATE TABLE computer (id BIGINT PRIMARY KEY, name VARCHAR(255), "
+        + "introduced TIMESTAMP NULL, discontinued TIMESTAMP NULL, company_id BIGINT, "
+        + "company_name VARCHAR(255), version BIGINT NOT NULL DEFAULT 0)");
+    jdbc.execute("CREATE TABLE hibernate_sequences (sequence_name VARCHAR(255) PRIMARY KEY, "
+        + "next_val BIGINT)");
+  }
+
+  @After
+  public void tearDown() {
+    jdbc.execute("DROP ALL OBJECTS");
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  // TESTS CASES
+  /**
+   * The same seed gives the same rows, another seed other ones.
+   */
+  @Test
+  public void deterministicTest() {
+    Computer computer = new CatalogGenerator(1, COMPANIES, COMPUTERS).computer(1234);
+    Computer same = new CatalogGenerator(1, COMPANIES, COMPUTERS).computer(1234);
+    Computer other = new CatalogGenerator(2, COMPANIES, COMPUTERS).computer(1234);
+
+    assertEquals(computer.toString(), same.toString());
+    assertNotEquals(computer.toString(), other.toString());
+  }
+
+  /**
+   * Discontinued dates follow introduced ones, computers without introduced date are not
+   * discontinued, and a few companies own most computers.
+   */
+  @Test
+  public void distributionsTest() {
+    CatalogGenerator generator = new CatalogGenerator(1, COMPANIES, COMPUTERS);
+    Map<Long, Integer> sizes = new HashMap<>();
+    int noIntroduced = 0;
+
+    for (long id = 1; id <= COMPUTERS; id++) {
+      Computer computer = generator.computer(id);
+      if (computer.getIntroduced() == null) {
+        assertNull(computer.toString(), computer.getDiscontinued());
+        noIntroduced++;
+      } else if (computer.getDiscontinued() != null) {
+        assertTrue(computer.toString(),
+            computer.getDiscontinued().isAfter(computer.getIntroduced()));
+      }
+      if (computer.getCompany() != null) {
+        sizes.merge(computer.getCompany().getId(), 1, Integer::sum);
+      }
+    }
+
+    assertTrue(noIntroduced > 0);
+    int largest = sizes.values().stream().mapToInt(Integer::intValue).max().getAsInt();
+    assertTrue("Largest company: " + largest, largest > 5 * COMPUTERS / COMPANIES);
+  }
+
+  /**
+   * Computers loaded in parallel chunks are the generated ones, the sequence following them.
+   *
+   * @throws Exception if the catalog cannot be loaded
+   */
+  @Test
+  public void jdbcLoadTest() throws Exception {
+    CatalogGenerator generator = new CatalogGenerator(1, COMPANIES, COMPUTERS);
+    CatalogJdbcLoader loader = new CatalogJdbcLoader(generator, dataSource);
+    loader.setThreads(4);
+    loader.setChunkSize(700);
+    loader.setBatchSize(100);
+
+    loader.load();
+
+    assertEquals(COMPANIES, count("company"));
+    assertEquals(COMPUTERS, count("computer"));
+    assertEquals(generator.computer(4321).getName(),
+        jdbc.queryForObject("SELECT name FROM computer WHERE id = 4321", String.class));
+    assertEquals(COMPUTERS + 1L, jdbc.queryForObject(
+        "SELECT next_val FROM hibernate_sequences WHERE sequence_name = 'computer'", Long.class)
+        .longValue());
+  }
+
+  /**
+   * The sql script inserts the same rows as the loader.
+   *
+   * @throws Exception if the script cannot be written or run
+   */
+  @Test
+  public void sqlScriptTest() throws Exception {
+    StringWriter script = new StringWriter();
+    new CatalogFileWriter(new CatalogGenerator(1, COMPANIES, COMPUTERS)).writeSql(script);
+
+    for (String statement : script.toString().split(";\n")) {
+      jdbc.execute(statement);
+    }
+
+    assertEquals(COMPANIES, count("company"));
+    assertEquals(COMPUTERS, count("computer"));
+  }
+
+  private long count(String table) {
+    return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+  }
+}
@@ -0,0 +1,122 @@
+package junit.com.excilys.cdb.daos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.excilys.cdb.daos.monitoring.InstrumentedDataSource;
+import com.excilys.cdb.monitoring.RequestStatistics;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Statement timings recorded by the instrumented DataSource on an in memory H2 database.
+ *
+ * @author Aurelien.R
+ */
+public class InstrumentedDataSourceIT {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(InstrumentedDataSourceIT.class);
+
+  // Constants
+  private static final String URL = "jdbc:h2:mem:instrumented;DB_CLOSE_DELAY=-1";
+  private static final String SELECT = "SELECT name FROM computer WHERE id = ?";
+
+  private InstrumentedDataSource dataSource;
+  private JdbcTemplate jdbc;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START InstrumentedDataSourceIT ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END InstrumentedDataSourceIT ----------------\n");
+  }
+
+  /**
+   * Create a computer table, every statement being logged as slow.
+   */
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+    dataSource = new InstrumentedDataSource(new DriverManagerDataSource(URL));
+    dataSource.setSlowThresholdMs(0);
+    jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE computer (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+    jdbc.update("INSERT INTO computer VALUES (?, ?)", 1L, "CM-2a");
+  }
+
+  @After
+  public void tearDown() {
+    jdbc.execute("DROP ALL OBJECTS");
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  // TESTS CASES
+  /**
+   * Executions of a prepared statement are recorded under its SQL.
+   */
+  @Test
+  public void preparedStatementTimingsTest() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals("CM-2a", jdbc.queryForObject(SELECT, String.class, 1L));
+    }
+    assertEquals(3, dataSource.getStatements().get(SELECT).snapshot().getCount());
+    assertEquals(5, dataSource.getAllStatements().snapshot().getCount());
+  }
+
+  /**
+   * Distinct statements over the limit are recorded together.
+   */
+  @Test
+  public void otherStatementsTest() {
+    dataSource.setMaxStatements(2);
+    jdbc.queryForObject(SELECT, String.class, 1L);
+    jdbc.queryForObject("SELECT COUNT(*) FROM computer", Long.class);
+    assertTrue(dataSource.getStatements().containsKey(InstrumentedDataSource.OTHER_STATEMENTS));
+    assertEquals(3, dataSource.getStatements().size());
+  }
+
+  /**
+   * Statements differing by the size of their IN lists are recorded together.
+   */
+  @Test
+  public void inListStatementsTest() {
+    jdbc.queryForList("SELECT name FROM computer WHERE id IN (?)", String.class, 1L);
+    jdbc.queryForList("SELECT name FROM computer WHERE id IN (?, ?)", String.class, 1L, 2L);
+    jdbc.queryForList("SELECT name FROM computer WHERE id IN (1, 2, 3)", String.class);
+    assertEquals(3, dataSource.getStatements()
+        .get("SELECT name FROM computer WHERE id IN (?...)").snapshot().getCount());
+  }
+
+  /**
+   * Statements and rows are counted for the thread collecting request statistics only.
+   */
+  @Test
+  public void requestStatisticsTest() {
+    jdbc.update("INSERT INTO computer VALUES (?, ?)", 2L, "CM-5");
+
+    RequestStatistics statistics = RequestStatistics.start();
+    try {
+      assertEquals(2, jdbc.queryForList("SELECT name FROM computer", String.class).size());
+      jdbc.queryForObject(SELECT, String.class, 1L);
+    } finally {
+      RequestStatistics.stop();
+    }
+    jdbc.queryForObject(SELECT, String.class, 1L);
+
+    assertEquals(2, statistics.getStatements());
+    assertEquals(3, statistics.getRows());
+  }
+}
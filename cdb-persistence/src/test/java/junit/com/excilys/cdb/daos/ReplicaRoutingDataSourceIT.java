@@ -0,0 +1,148 @@
+package junit.com.excilys.cdb.daos;
+
+import static org.junit.Assert.assertEquals;
+
+import com.excilys.cdb.daos.routing.ReplicaRoutingDataSource;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+/**
+ * Routing of transactions between two in memory H2 databases, standing for the primary and a
+ * replica. Each database tells which one it is in its origin table.
+ *
+ * @author Aurelien.R
+ */
+public class ReplicaRoutingDataSourceIT {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSourceIT.class);
+
+  // Constants
+  private static final String PRIMARY_URL = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+  private static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+  private JdbcTemplate primary;
+  private JdbcTemplate replica;
+  private ReplicaRoutingDataSource routingDataSource;
+  private JdbcTemplate routed;
+  private TransactionTemplate readWrite;
+  private TransactionTemplate readOnly;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START ReplicaRoutingDataSourceIT ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END ReplicaRoutingDataSourceIT ----------------\n");
+  }
+
+  /**
+   * Fill both databases and route between them, replicas being checked on demand.
+   */
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+    primary = createDatabase(PRIMARY_URL, "primary");
+    replica = createDatabase(REPLICA_URL, "replica");
+    replica.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+    replica.execute("INSERT INTO replica_lag VALUES (0)");
+
+    routingDataSource = new ReplicaRoutingDataSource();
+    routingDataSource.setPrimary(primary.getDataSource());
+    routingDataSource.setReplicas(Collections.singletonList(replica.getDataSource()));
+    routingDataSource.setHealthCheckSeconds(0);
+    routingDataSource.setLagQuery("SELECT seconds FROM replica_lag");
+    routingDataSource.setMaxLagSeconds(5);
+    routingDataSource.afterPropertiesSet();
+
+    DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+    routed = new JdbcTemplate(dataSource);
+    DataSourceTransactionManager transactionManager =
+        new DataSourceTransactionManager(dataSource);
+    readWrite = new TransactionTemplate(transactionManager);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+  }
+
+  /**
+   * Drop both databases.
+   */
+  @After
+  public void tearDown() {
+    routingDataSource.close();
+    primary.execute("DROP ALL OBJECTS");
+    replica.execute("DROP ALL OBJECTS");
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  // TESTS CASES
+  /**
+   * Read-only transactions read the replica.
+   */
+  @Test
+  public void readOnlyOnReplicaTest() {
+    assertEquals("replica", readOnly.execute(status -> origin()));
+  }
+
+  /**
+   * Read-write transactions, and statements out of a transaction, use the primary.
+   */
+  @Test
+  public void readWriteOnPrimaryTest() {
+    assertEquals("primary", readWrite.execute(status -> origin()));
+    assertEquals("primary", origin());
+  }
+
+  /**
+   * A replica lagging too much is skipped until it catches up.
+   */
+  @Test
+  public void laggingReplicaTest() {
+    replica.update("UPDATE replica_lag SET seconds = 60");
+    routingDataSource.checkReplicas();
+    assertEquals("primary", readOnly.execute(status -> origin()));
+
+    replica.update("UPDATE replica_lag SET seconds = 1");
+    routingDataSource.checkReplicas();
+    assertEquals("replica", readOnly.execute(status -> origin()));
+  }
+
+  /**
+   * A replica failing its check is skipped.
+   */
+  @Test
+  public void failingReplicaTest() {
+    replica.execute("DROP TABLE replica_lag");
+    routingDataSource.checkReplicas();
+    assertEquals("primary", readOnly.execute(status -> origin()));
+  }
+
+  private String origin() {
+    return routed.queryForObject("SELECT name FROM origin", String.class);
+  }
+
+  private static JdbcTemplate createDatabase(String url, String name) {
+    JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url));
+    jdbc.execute("CREATE TABLE origin (name VARCHAR(20))");
+    jdbc.update("INSERT INTO origin VALUES (?)", name);
+    return jdbc;
+  }
+}
@@ -0,0 +1,191 @@
+package junit.com.excilys.cdb.daos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.excilys.cdb.daos.monitoring.InstrumentedDataSource;
+import com.excilys.cdb.daos.repositories.ComputerRepository;
+import com.excilys.cdb.models.OrderBy;
+import com.excilys.cdb.models.QueryPageParameter;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Explain on H2 the dashboard page query of every ordering, as the repository runs it, on the
+ * webapp schema and its migrations, and fail when a page is sorted instead of read in index
+ * order.
+ *
+ * <p>The SQL is the one recorded by the instrumented DataSource of the context when
+ * findSliceByNameOrCompanyName runs, on a schema generated by Hibernate. It is then explained on
+ * a second database created by the schema scripts of the webapp, read from the test classpath.
+ *
+ * <p>Only ascending orderings are checked: MySQL reads a descending page by walking the same
+ * indexes backward, H2 cannot, and no descending index is shipped for it.
+ *
+ * @author Aurelien.R
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:/spring/persistence-context-test.xml")
+public class SortIndexIT {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(SortIndexIT.class);
+
+  // Constants
+  private static final String SCHEMA_SQL = "/config/1-SCHEMA.sql";
+  private static final String INDEXES_SQL = "/config/4-INDEXES.sql";
+  private static final String COMPANY_NAME_SQL = "/config/5-COMPANY-NAME.sql";
+  private static final String URL = "jdbc:h2:mem:sortIndexes;MODE=MySQL;DB_CLOSE_DELAY=-1";
+  private static final Pattern MYSQL_ONLY =
+      Pattern.compile("(drop schema|create schema|use) ", Pattern.CASE_INSENSITIVE);
+  private static final String[] SEARCHES = { "", "mac" };
+  private static final int PAGE_SIZE = 30;
+  // Entity property of the company ordering, as ComputerService sorts it
+  private static final String COMPANY_NAME = "companyName";
+
+  @Autowired
+  ComputerRepository computerRepository;
+
+  @Autowired
+  InstrumentedDataSource instrumentedDataSource;
+
+  private static Connection connection;
+
+  // Hook methods
+  /**
+   * Create the schema of the scripts and its indexes in memory.
+   *
+   * @throws Exception failed to run sql files
+   */
+  @BeforeClass
+  public static void prepareTest() throws Exception {
+    LOGGER.info("---------------- START SortIndexIT ----------------\n");
+
+    connection = DriverManager.getConnection(URL);
+    try (Statement statement = connection.createStatement()) {
+      for (String file : Arrays.asList(SCHEMA_SQL, INDEXES_SQL, COMPANY_NAME_SQL)) {
+        for (String sql : readStatements(file)) {
+          statement.execute(sql);
+        }
+      }
+    }
+  }
+
+  @AfterClass
+  public static void endTest() throws SQLException {
+    connection.close();
+    LOGGER.info("---------------- END SortIndexIT ----------------\n");
+  }
+
+  // TESTS CASES
+  /**
+   * Every ascending ordering is read in index order, with and without search.
+   *
+   * @throws SQLException failed to explain a query
+   */
+  @Test
+  public void everyAscendingOrderingUsesIndexTest() throws SQLException {
+    List<String> sortedPlans = new ArrayList<>();
+    for (OrderBy orderBy : OrderBy.values()) {
+      String sql = pageSql(orderBy);
+      for (String search : SEARCHES) {
+        String plan = explain(sql, search);
+        LOGGER.debug("Plan of {} search '{}':\n{}", orderBy, search, plan);
+        if (!plan.contains("index sorted")) {
+          sortedPlans.add(orderBy + " search '" + search + "':\n" + plan);
+        }
+      }
+    }
+    assertTrue("Pages sorted without index:\n" + String.join("\n\n", sortedPlans),
+        sortedPlans.isEmpty());
+  }
+
+  /**
+   * SQL of the first page of an ordering, recorded while the repository reads it.
+   */
+  private String pageSql(OrderBy orderBy) {
+    String property = OrderBy.company == orderBy ? COMPANY_NAME : orderBy.toString();
+    QueryPageParameter qp = new QueryPageParameter(0, PAGE_SIZE, Direction.ASC, property, "");
+
+    Set<String> recorded = new HashSet<>(instrumentedDataSource.getStatements().keySet());
+    computerRepository.findSliceByNameOrCompanyName(qp.getSearch(), qp.getPageable());
+    List<String> statements = instrumentedDataSource.getStatements().keySet().stream()
+        .filter(sql -> !recorded.contains(sql)).collect(Collectors.toList());
+
+    assertEquals("Statements of the " + orderBy + " page: " + statements, 1,
+        statements.size());
+    return statements.get(0);
+  }
+
+  /**
+   * Plan of a page statement, its LIKE parameters bound to the search and its limit to the page
+   * size, one more computer read as slices do.
+   */
+  private static String explain(String sql, String search) throws SQLException {
+    int limit = sql.toLowerCase(Locale.ROOT).lastIndexOf(" limit ");
+    String filter = limit < 0 ? sql : sql.substring(0, limit);
+    int likes = filter.length() - filter.replace("?", "").length();
+
+    try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+      for (int i = 1; i <= likes; i++) {
+        statement.setString(i, "%" + search + "%");
+      }
+      if (limit >= 0) {
+        statement.setInt(likes + 1, PAGE_SIZE + 1);
+      }
+      try (ResultSet rs = statement.executeQuery()) {
+        rs.next();
+        return rs.getString(1);
+      }
+    }
+  }
+
+  /**
+   * Statements of a sql file of the classpath, without comments nor the MySQL schema selection.
+   */
+  private static List<String> readStatements(String file) throws IOException {
+    InputStream in = SortIndexIT.class.getResourceAsStream(file);
+    if (in == null) {
+      throw new FileNotFoundException(file + " is not on the test classpath");
+    }
+    String script;
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      script = reader.lines().filter(line -> !line.trim().startsWith("--"))
+          .collect(Collectors.joining("\n"));
+    }
+    return Arrays.stream(script.split(";")).map(String::trim)
+        .filter(sql -> !sql.isEmpty() && !MYSQL_ONLY.matcher(sql).lookingAt())
+        .collect(Collectors.toList());
+  }
+}
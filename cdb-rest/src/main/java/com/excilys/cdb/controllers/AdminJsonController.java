@@ -0,0 +1,60 @@
+package com.excilys.cdb.controllers;
+
+import com.excilys.cdb.services.CacheStatisticsService;
+import com.excilys.cdb.services.MetricsService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Operator endpoints, restricted to admins.
+ *
+ * @author Aurelien.R
+ */
+@RestController
+@RequestMapping("/json/admin")
+public class AdminJsonController {
+
+  @Autowired
+  CacheStatisticsService cacheStatisticsService;
+
+  @Autowired
+  MetricsService metricsService;
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdminJsonController.class);
+
+  @RequestMapping(value = "/cache", method = RequestMethod.GET)
+  public Map<String, Object> getCacheStatistics() {
+    LOGGER.info("AdminJsonController: REST api: GET /admin/cache");
+    return cacheStatisticsService.getStatistics();
+  }
+
+  @RequestMapping(value = "/cache/clear", method = RequestMethod.POST)
+  public ResponseEntity<Void> clearCacheStatistics() {
+    LOGGER.info("AdminJsonController: REST api: POST /admin/cache/clear");
+    cacheStatisticsService.clear();
+    return new ResponseEntity<>(HttpStatus.OK);
+  }
+
+  @RequestMapping(value = "/metrics", method = RequestMethod.GET)
+  public Map<String, Object> getMetrics() {
+    LOGGER.info("AdminJsonController: REST api: GET /admin/metrics");
+    return metricsService.getMetrics();
+  }
+
+  @RequestMapping(value = "/metrics/prometheus", method = RequestMethod.GET,
+      produces = "text/plain; version=0.0.4; charset=utf-8")
+  public String getPrometheusMetrics() {
+    LOGGER.info("AdminJsonController: REST api: GET /admin/metrics/prometheus");
+    return metricsService.getPrometheusMetrics();
+  }
+}
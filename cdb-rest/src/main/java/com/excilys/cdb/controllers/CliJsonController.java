@@ -3,19 +3,24 @@ package com.excilys.cdb.controllers;
 import com.excilys.cdb.dtos.CompanyDto;
 import com.excilys.cdb.dtos.ComputerDto;
 import com.excilys.cdb.dtos.ComputerPageDto;
+import com.excilys.cdb.dtos.ImportReportDto;
 import com.excilys.cdb.mappers.ComputerPageMapper;
 import com.excilys.cdb.mappers.QueryPageParameterMapper;
 import com.excilys.cdb.models.OrderBy;
 import com.excilys.cdb.models.QueryPageParameter;
 import com.excilys.cdb.services.CompanyDtoService;
 import com.excilys.cdb.services.ComputerDtoService;
+import com.excilys.cdb.services.ComputerExportService;
+import com.excilys.cdb.services.ComputerImportService;
+import com.excilys.cdb.utils.DateFormatManager;
+import com.excilys.cdb.utils.LineFormat;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.MessageSource;
-import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -27,24 +32,32 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.Locale;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 @RestController
 @RequestMapping("/json")
 public class CliJsonController {
 
-  @Autowired
-  MessageSource messageSource;
-
   @Autowired
   ComputerDtoService computerDtoService;
 
   @Autowired
   CompanyDtoService companyDtoService;
 
+  @Autowired
+  ComputerImportService computerImportService;
+
+  @Autowired
+  ComputerExportService computerExportService;
+
+  @Autowired
+  DateFormatManager dateFormatManager;
+
   // Logger
   private static final Logger LOGGER = LoggerFactory.getLogger(CliJsonController.class);
 
@@ -54,20 +67,35 @@ public class CliJsonController {
   @RequestMapping("/localDateFormat")
   public String getLocalDateFormat() {
     LOGGER.info("CliJsonController: REST api: GET /localDateFormat");
-    Locale local = LocaleContextHolder.getLocale();
-    String dateFormatStr = messageSource.getMessage("property.dateFormat", null, local);
-
-    return dateFormatStr;
+    return dateFormatManager.getLocalDateFormat();
   }
 
   @RequestMapping("/computers")
-  public ComputerPageDto getComputerPage(@RequestParam("page") int page) {
-    LOGGER.info("CliJsonController: REST api: GET /computers : parameters:\n\tpage={}", page);
+  public ComputerPageDto getComputerPage(
+      @RequestParam(value = "page", required = false) Integer page,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "count", required = false, defaultValue = "true") boolean count) {
+    LOGGER.info(
+        "CliJsonController: REST api: GET /computers : parameters:\n\tpage={} cursor={} count={}",
+        page, cursor, count);
+
+    // Seek from the cursor unless a page index is asked, deep pages stay cheap
+    if (page == null || cursor != null) {
+      QueryPageParameter qp = QueryPageParameterMapper.toKeysetQueryPageParameter(cursor,
+          PAGE_SIZE, "", OrderBy.id, Direction.ASC);
+      return computerDtoService.findByKeyset(qp);
+    }
 
     // Get related queryPageParameter
     QueryPageParameter qp = QueryPageParameterMapper.toQueryPageParameter(page, PAGE_SIZE, "",
         OrderBy.id, Direction.ASC);
 
+    // Only tell if there is a next page when the count is not needed
+    if (!count) {
+      Slice<ComputerDto> computerDtoSlice = computerDtoService.findSliceByQuery(qp);
+      return ComputerPageMapper.toComputerPageDto(qp.getSearch(), computerDtoSlice);
+    }
+
     // Retrieve DTOs
     Page<ComputerDto> computerDtoPage = computerDtoService.findByQuery(qp);
 
@@ -105,8 +133,15 @@ public class CliJsonController {
       return new ResponseEntity<>(computerDto, HttpStatus.BAD_REQUEST);
     }
 
-    // Edit computer
-    computerDtoService.updateComputer(computerDto);
+    // Edit computer, conflict if it was edited meanwhile
+    try {
+      computerDtoService.updateComputer(computerDto);
+    } catch (OptimisticLockingFailureException e) {
+      LOGGER.warn("CliJsonController: REST api: Conflict on editing computer {}",
+          computerDto.getId());
+      return new ResponseEntity<>(computerDtoService.findById(computerDto.getId()),
+          HttpStatus.CONFLICT);
+    }
 
     // Redirect to dashboard
     return new ResponseEntity<>(computerDto, HttpStatus.OK);
@@ -144,15 +179,48 @@ public class CliJsonController {
   }
 
   @RequestMapping(value = "computers/delete", method = RequestMethod.POST)
-  public ResponseEntity<Long> deleteComputer(@RequestParam("id") long id) {
+  public ResponseEntity<List<Long>> deleteComputer(@RequestParam("id") List<Long> ids) {
 
-    LOGGER.info("CliJsonController: REST api: POST /computers/delete parameters:\n\tIds: {}", id);
+    LOGGER.info("CliJsonController: REST api: POST /computers/delete parameters:\n\tIds: {}", ids);
 
-    // Delete each computer by id
-    computerDtoService.deleteComputer(id);
+    // Delete all computers at once, ids repeated or splited by comma
+    computerDtoService.deleteComputers(ids);
 
     // Ok response status
-    return new ResponseEntity<Long>(id, HttpStatus.OK);
+    return new ResponseEntity<List<Long>>(ids, HttpStatus.OK);
+  }
+
+  @RequestMapping(value = "computers/import", method = RequestMethod.POST)
+  public ResponseEntity<ImportReportDto> importComputers(
+      @RequestParam(value = "format", required = false,
+          defaultValue = "csv") LineFormat format,
+      InputStream body) throws IOException {
+
+    LOGGER.info("CliJsonController: REST api: POST /computers/import parameters:\n\tformat: {}",
+        format);
+
+    // Stream the request body into the database by chunks
+    ImportReportDto report = computerImportService.importComputers(body, format);
+
+    // Ok response status, rejected lines are in the report
+    return new ResponseEntity<ImportReportDto>(report, HttpStatus.OK);
+  }
+
+  @RequestMapping(value = "computers/export", method = RequestMethod.GET)
+  public void exportComputers(
+      @RequestParam(value = "format", required = false,
+          defaultValue = "csv") LineFormat format,
+      HttpServletResponse response) throws IOException {
+
+    LOGGER.info("CliJsonController: REST api: GET /computers/export parameters:\n\tformat: {}",
+        format);
+
+    // Write computers to the response while they are read, as a file
+    response.setContentType(format == LineFormat.csv ? "text/csv" : "application/x-ndjson");
+    response.setCharacterEncoding("UTF-8");
+    response.setHeader("Content-Disposition",
+        "attachment; filename=\"computers." + format + "\"");
+    computerExportService.exportComputers(response.getOutputStream(), format);
   }
 
   @RequestMapping(value = "companies/delete", method = RequestMethod.POST)
@@ -6,6 +6,7 @@ drop schema if exists `computer-database-db_TEST`;
   drop table if exists company;
   drop table if exists user_entity;
   drop table if exists user_role;
+  drop table if exists hibernate_sequences;
 
   create table company (
     id                        bigint not null auto_increment,
@@ -19,6 +20,7 @@ drop schema if exists `computer-database-db_TEST`;
     introduced                timestamp NULL,
     discontinued              timestamp NULL,
     company_id                bigint default NULL,
+    version                   bigint not null default 0,
     constraint pk_computer primary key (id))
   ;
   
@@ -36,6 +38,12 @@ drop schema if exists `computer-database-db_TEST`;
     constraint pk_user_role primary key (id))
   ;
   
+  create table hibernate_sequences (
+    sequence_name             varchar(255) not null,
+    next_val                  bigint,
+    constraint pk_hibernate_sequences primary key (sequence_name))
+  ;
+  
   alter table computer add constraint fk_computer_company_1 foreign key (company_id) references company (id) on delete restrict on update restrict;
   create index ix_computer_company_1 on computer (company_id);
 
@@ -0,0 +1,77 @@
+package com.excilys.cdb.services;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+
+/**
+ * Hit/miss statistics of the Hibernate second level and query caches, for operators.
+ * Counters stay at 0 unless hibernate.generate_statistics is enabled.
+ *
+ * @author Aurelien.R
+ *
+ */
+@Service
+public class CacheStatisticsService {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(CacheStatisticsService.class);
+
+  @PersistenceUnit
+  private EntityManagerFactory emf;
+
+  // Methods
+  /**
+   * Current cache statistics, global and per region.
+   *
+   * @return statistics by name
+   */
+  public Map<String, Object> getStatistics() {
+
+    LOGGER.debug("Service: get cache statistics");
+
+    Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enabled", stats.isStatisticsEnabled());
+    result.put("secondLevelCacheHitCount", stats.getSecondLevelCacheHitCount());
+    result.put("secondLevelCacheMissCount", stats.getSecondLevelCacheMissCount());
+    result.put("secondLevelCachePutCount", stats.getSecondLevelCachePutCount());
+    result.put("queryCacheHitCount", stats.getQueryCacheHitCount());
+    result.put("queryCacheMissCount", stats.getQueryCacheMissCount());
+    result.put("queryCachePutCount", stats.getQueryCachePutCount());
+
+    Map<String, Object> regions = new LinkedHashMap<>();
+    for (String regionName : stats.getSecondLevelCacheRegionNames()) {
+      SecondLevelCacheStatistics region = stats.getSecondLevelCacheStatistics(regionName);
+      Map<String, Object> regionStats = new LinkedHashMap<>();
+      regionStats.put("hitCount", region.getHitCount());
+      regionStats.put("missCount", region.getMissCount());
+      regionStats.put("putCount", region.getPutCount());
+      regionStats.put("elementCountInMemory", region.getElementCountInMemory());
+      regions.put(regionName, regionStats);
+    }
+    result.put("regions", regions);
+
+    return result;
+  }
+
+  /**
+   * Reset the statistics counters.
+   */
+  public void clear() {
+
+    LOGGER.debug("Service: clear cache statistics");
+
+    emf.unwrap(SessionFactory.class).getStatistics().clear();
+  }
+}
@@ -3,15 +3,18 @@ package com.excilys.cdb.services;
 import com.excilys.cdb.daos.repositories.CompanyRepository;
 import com.excilys.cdb.daos.repositories.ComputerRepository;
 import com.excilys.cdb.models.Company;
+import com.excilys.cdb.services.count.ComputerCountCache;
+import com.excilys.cdb.services.search.ComputerSearchIndex;
 import com.excilys.cdb.validators.ValidatorException;
 import com.excilys.cdb.validators.utils.CompanyValidator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
 import java.util.List;
 
 /**
@@ -31,6 +34,14 @@ public class CompanyService {
   private CompanyRepository companyRepository;
   @Autowired
   private ComputerRepository computerRepository;
+  @Autowired
+  private ComputerSearchIndex searchIndex;
+  @Autowired
+  private ComputerCountCache countCache;
+
+  // Configuration
+  @Value("${delete.batchSize:500}")
+  private int deleteBatchSize;
 
   // Methods
   /**
@@ -40,6 +51,7 @@ public class CompanyService {
    * @throws DaoException issues with DB
    * @throws ValidatorException validation of data
    */
+  @Transactional(readOnly = true)
   public List<Company> findAll() {
 
     LOGGER.debug("Service: find all companies");
@@ -55,6 +67,7 @@ public class CompanyService {
    * @throws DaoException issues with DB
    * @throws ValidatorException issue with validation of Data
    */
+  @Transactional(readOnly = true)
   public Company findById(long id) {
 
     LOGGER.debug("Service find company by id: {}", id);
@@ -74,6 +87,7 @@ public class CompanyService {
    * @throws DaoException issue with DB
    * @throws ValidatorException issue with data
    */
+  @Transactional(readOnly = true)
   public List<Company> findByName(String name) {
 
     LOGGER.debug("Service: find company by name: {}", name);
@@ -102,17 +116,20 @@ public class CompanyService {
     CompanyValidator.validate(company);
 
     // Insert Company
-    return companyRepository.save(company).getId();
+    Company created = companyRepository.save(company);
+    searchIndex.companySaved(created);
+    return created.getId();
   }
 
   /**
-   * Delete the Company by its id.
+   * Delete the Company by its id, and its computers. Computers are deleted by ranges of ids of
+   * at most delete.batchSize computers, each range in its own transaction to bound lock time and
+   * undo log size. If the deletion fails midway, deleting the company again completes it.
    *
    * @param id id of the Company to find
    * @throws DaoException issues with DB
    * @throws ValidatorException issues with data
    */
-  @Transactional
   public void deleteCompany(long id) {
 
     LOGGER.debug("Service: Delete Company");
@@ -120,12 +137,31 @@ public class CompanyService {
     // Check
     CompanyValidator.checkValidId(id);
 
-    // Transaction
-    LOGGER.debug("Initialize transaction");
-    LOGGER.debug("Delete computers by company id");
-    computerRepository.deleteByCompany_Id(id);
-    LOGGER.debug("Delete company");
-    companyRepository.delete(id);
-
+    try {
+      LOGGER.debug("Delete computers by company id");
+      long deleted = 0;
+      long afterId = 0;
+      while (true) {
+        // Last id of the next range, the remaining computers if there is less than a range left
+        List<Long> toIds = computerRepository.findIdsByCompanyAfter(id, afterId,
+            new PageRequest(deleteBatchSize - 1, 1));
+        long toId = toIds.isEmpty() ? Long.MAX_VALUE : toIds.get(0);
+        deleted += computerRepository.deleteByCompanyInRange(id, afterId, toId);
+        if (toIds.isEmpty()) {
+          break;
+        }
+        afterId = toId;
+      }
+      LOGGER.debug("Service: {} computers of company {} deleted", deleted, id);
+
+      LOGGER.debug("Delete company");
+      if (companyRepository.deleteById(id) == 0) {
+        throw new ValidatorException("No company with id: " + id);
+      }
+      searchIndex.companyDeleted(id);
+    } finally {
+      // Ranges already deleted are committed, even on failure
+      countCache.invalidate();
+    }
   }
 }
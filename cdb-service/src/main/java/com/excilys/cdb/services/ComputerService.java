@@ -1,8 +1,16 @@
 package com.excilys.cdb.services;
 
+import com.excilys.cdb.daos.repositories.CompanyRepository;
 import com.excilys.cdb.daos.repositories.ComputerRepository;
+import com.excilys.cdb.models.Company;
 import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.KeysetCursor;
+import com.excilys.cdb.models.LowerBoundPage;
+import com.excilys.cdb.models.OrderBy;
 import com.excilys.cdb.models.QueryPageParameter;
+import com.excilys.cdb.services.count.ComputerCountCache;
+import com.excilys.cdb.services.search.ComputerSearchIndex;
 import com.excilys.cdb.validators.ValidatorException;
 import com.excilys.cdb.validators.utils.ComputerValidator;
 import com.excilys.cdb.validators.utils.QueryPageParameterValidator;
@@ -10,10 +18,27 @@ import com.excilys.cdb.validators.utils.QueryPageParameterValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
@@ -35,26 +60,133 @@ public class ComputerService {
 
   @Autowired
   private ComputerRepository computerRepository;
+  @Autowired
+  private CompanyRepository companyRepository;
+  @Autowired
+  private ComputerSearchIndex searchIndex;
+  @Autowired
+  private ComputerCountCache countCache;
+
+  // Configuration
+  @Value("${delete.batchSize:500}")
+  private int deleteBatchSize;
 
   // Methods
   /**
    * Find Computers by query parameters criterias.
    *
    * @param qp query parameters to based search on
-   * @return Ordering list of matching Computers
+   * @return Ordering page of matching computer views, company name included
    * @throws DaoException issues with DB
    * @throws ValidatorException issues with data
    */
-  public Page<Computer> findByQuery(QueryPageParameter qp) {
+  @Transactional(readOnly = true)
+  public Page<ComputerView> findByQuery(QueryPageParameter qp) {
 
     LOGGER.debug("Service: find commputer by queryPageParameter, qp: {}", qp);
 
     // Validate queryParameter
     QueryPageParameterValidator.validate(qp);
+    Pageable pageable = qp.getPageable();
+    Pageable sorted = toRepositoryPageable(pageable);
+
+    // Use the search index when it can answer the search, it gives the count too
+    Set<Long> ids = searchIndex.findComputerIds(qp.getSearch());
+    if (ids != null) {
+      if (ids.isEmpty()) {
+        return new PageImpl<>(Collections.emptyList(), pageable, 0);
+      }
+      return new PageImpl<>(computerRepository.findByIdIn(ids, sorted), pageable, ids.size());
+    }
+
+    // Retrieve computers, then count them without a query when possible
+    long countGeneration = countCache.generation();
+    List<ComputerView> computers =
+        computerRepository.findByNameOrCompanyName(qp.getSearch(), sorted);
+    Long total = countMatching(qp.getSearch(), pageable, computers, countGeneration);
+
+    // Counted in background, the page only tells there is at least one more
+    if (total == null) {
+      return new LowerBoundPage<>(computers, pageable,
+          pageable.getOffset() + computers.size() + 1);
+    }
+    return new PageImpl<>(computers, pageable, total);
+  }
 
-    // Return computers
-    return computerRepository.findByNameOrCompanyName(qp.getSearch(),
-        qp.getPageable());
+  /**
+   * Find Computers by query parameters criterias, without counting them.
+   *
+   * @param qp query parameters to based search on
+   * @return Ordering slice of matching computer views, telling if there is a next one
+   * @throws ValidatorException issues with data
+   */
+  @Transactional(readOnly = true)
+  public Slice<ComputerView> findSliceByQuery(QueryPageParameter qp) {
+
+    LOGGER.debug("Service: find computer slice by queryPageParameter, qp: {}", qp);
+
+    // Validate queryParameter
+    QueryPageParameterValidator.validate(qp);
+    Pageable pageable = qp.getPageable();
+
+    Pageable sorted = toRepositoryPageable(pageable);
+
+    // Use the search index when it can answer the search
+    Set<Long> ids = searchIndex.findComputerIds(qp.getSearch());
+    if (ids != null) {
+      if (ids.isEmpty()) {
+        return new SliceImpl<>(Collections.emptyList(), pageable, false);
+      }
+      List<ComputerView> computers = computerRepository.findByIdIn(ids, sorted);
+      return new SliceImpl<>(computers, pageable,
+          pageable.getOffset() + computers.size() < ids.size());
+    }
+
+    // Return computers, with the ordering asked for
+    Slice<ComputerView> slice =
+        computerRepository.findSliceByNameOrCompanyName(qp.getSearch(), sorted);
+    return new SliceImpl<>(slice.getContent(), pageable, slice.hasNext());
+  }
+
+  /**
+   * Find Computers by query parameters criterias, seeking from the cursor of the query
+   * parameters instead of skipping rows with an offset.
+   *
+   * @param qp query parameters in keyset mode
+   * @return Ordering slice of matching computer views, telling if there are more computers in the
+   *         walked direction (before the cursor when going backward)
+   * @throws ValidatorException issues with data
+   */
+  @Transactional(readOnly = true)
+  public Slice<ComputerView> findByKeyset(QueryPageParameter qp) {
+
+    LOGGER.debug("Service: find computer by keyset, qp: {}", qp);
+
+    // Validate queryParameter
+    QueryPageParameterValidator.validate(qp);
+    Pageable pageable = qp.getPageable();
+    Order order = pageable.getSort().iterator().next();
+    OrderBy orderBy = OrderBy.valueOf(order.getProperty());
+    KeysetCursor cursor = qp.getCursor();
+
+    // Use the search index when it can answer the search
+    Set<Long> ids = searchIndex.findComputerIds(qp.getSearch());
+    if (ids != null && ids.isEmpty()) {
+      return new SliceImpl<>(Collections.emptyList(), pageable, false);
+    }
+
+    // Fetch one more computer to know if there is a next slice
+    List<ComputerView> computers = new ArrayList<>(computerRepository.findByKeyset(qp.getSearch(),
+        ids, orderBy, order.getDirection(), cursor, pageable.getPageSize() + 1));
+    boolean hasMore = computers.size() > pageable.getPageSize();
+    if (hasMore) {
+      computers.remove(computers.size() - 1);
+    }
+    if (cursor != null && cursor.isBackward()) {
+      Collections.reverse(computers);
+    }
+
+    return new SliceImpl<>(computers, pageable, hasMore);
   }
 
   /**
@@ -63,6 +195,7 @@ public class ComputerService {
    * @return total number of computers in DB
    * @throws DaoException issue with db
    */
+  @Transactional(readOnly = true)
   public long count(QueryPageParameter qp) {
 
     LOGGER.debug("Service: count all computers");
@@ -71,7 +204,75 @@ public class ComputerService {
     QueryPageParameterValidator.checkSearch(qp.getSearch());
 
     // Get count
-    return computerRepository.countByNameOrCompanyName(qp.getSearch());
+    Long cached = countCache.get(qp.getSearch());
+    if (cached != null) {
+      return cached;
+    }
+    long countGeneration = countCache.generation();
+    long count = computerRepository.countByNameOrCompanyName(qp.getSearch());
+    countCache.put(qp.getSearch(), count, countGeneration);
+    return count;
+  }
+
+  /**
+   * Pageable sorting on the company name copied on computers, instead of the company reference.
+   */
+  private static Pageable toRepositoryPageable(Pageable pageable) {
+    Sort sort = pageable.getSort();
+    if (sort == null || sort.getOrderFor(OrderBy.company.toString()) == null) {
+      return pageable;
+    }
+    List<Order> orders = new ArrayList<>();
+    for (Order order : sort) {
+      orders.add(OrderBy.company.toString().equals(order.getProperty())
+          ? new Order(order.getDirection(), "companyName") : order);
+    }
+    return new PageRequest(pageable.getPageNumber(), pageable.getPageSize(), new Sort(orders));
+  }
+
+  /**
+   * Name of a company, read from the company cache when only its id is known.
+   */
+  private String companyName(Company company) {
+    if (company == null || company.getId() == 0) {
+      return null;
+    }
+    if (company.getName() != null) {
+      return company.getName();
+    }
+    Company stored = companyRepository.findOne(company.getId());
+    return stored == null ? null : stored.getName();
+  }
+
+  /**
+   * Number of computers matching a search, knowing one of its pages, or null when it is being
+   * counted in background.
+   */
+  private Long countMatching(String search, Pageable pageable, List<?> computers,
+      long countGeneration) {
+
+    // A partial page is the last one, it gives the exact count
+    if (computers.size() < pageable.getPageSize()
+        && (!computers.isEmpty() || pageable.getOffset() == 0)) {
+      long count = pageable.getOffset() + computers.size();
+      countCache.put(search, count, countGeneration);
+      return count;
+    }
+
+    Long cached = countCache.get(search);
+    if (cached != null) {
+      return cached;
+    }
+
+    // Count in background, the page being full there is at least one more meanwhile
+    if (countCache.isAsync()) {
+      countCache.refreshAsync(search, () -> computerRepository.countByNameOrCompanyName(search));
+      return null;
+    }
+
+    long count = computerRepository.countByNameOrCompanyName(search);
+    countCache.put(search, count, countGeneration);
+    return count;
   }
 
   /**
@@ -80,12 +281,34 @@ public class ComputerService {
    * @return list of all computers
    * @throws DaoException issues with db
    */
+  @Transactional(readOnly = true)
   public List<Computer> findAll() {
 
     LOGGER.debug("Service: find all computers");
     return computerRepository.findAll();
   }
 
+  /**
+   * Stream every computer stored in DB, ordered by id, without keeping them in memory.
+   *
+   * @param consumer called for each computer, while the rows are read
+   * @return number of computers read
+   */
+  @Transactional(readOnly = true)
+  public long exportAll(Consumer<ComputerView> consumer) {
+
+    LOGGER.debug("Service: export all computers");
+
+    long count = 0;
+    try (Stream<ComputerView> computers = computerRepository.streamAll()) {
+      for (ComputerView computer : (Iterable<ComputerView>) computers::iterator) {
+        consumer.accept(computer);
+        count++;
+      }
+    }
+    return count;
+  }
+
   /**
    * Find computers by their id.
    *
@@ -94,6 +317,7 @@ public class ComputerService {
    * @throws DaoException issues with DB
    * @throws ValidatorException issues with data
    */
+  @Transactional(readOnly = true)
   public Computer findById(long id) {
 
     LOGGER.debug("Service: find computer by id: {}", id);
@@ -113,6 +337,7 @@ public class ComputerService {
    * @throws DaoException issues with db
    * @throws ValidatorException issues with data
    */
+  @Transactional(readOnly = true)
   public List<Computer> findByName(String name) {
 
     LOGGER.debug("Service: find computer by name:{}", name);
@@ -139,36 +364,73 @@ public class ComputerService {
 
     // Validate computer
     ComputerValidator.validate(computer);
+    computer.setCompanyName(companyName(computer.getCompany()));
 
     // Create computers
-    return computerRepository.save(computer).getId();
+    Computer created = computerRepository.save(computer);
+    searchIndex.computerSaved(created);
+    countCache.invalidate();
+    return created.getId();
   }
 
   /**
-   * Update passed computer in db.
+   * Add passed computers to DB in one transaction, inserts being sent by JDBC batches of
+   * hibernate.jdbc.batch_size statements.
    *
-   * @param computer to update (based on its id)
-   * @throws DaoException issues with db
-   * @throws ValidatorException issues with data
+   * @param computers computers to add to db
+   * @return number of computers added
+   * @throws ValidatorException issues with data, nothing is added
+   */
+  @Transactional
+  public int createComputers(List<Computer> computers) {
+
+    LOGGER.debug("Service: create {} computers", computers.size());
+
+    // Validate computers
+    computers.forEach(ComputerValidator::validate);
+
+    // Create computers, the persistence context is flushed once at commit
+    for (Computer computer : computers) {
+      computer.setCompanyName(companyName(computer.getCompany()));
+      em.persist(computer);
+    }
+
+    computers.forEach(searchIndex::computerSaved);
+    countCache.invalidate();
+    return computers.size();
+  }
+
+  /**
+   * Update passed computer in db, in a single statement, if it was not updated since its
+   * version was read.
+   *
+   * @param computer to update (based on its id and version)
+   * @throws ValidatorException issues with data, or no computer with this id
+   * @throws OptimisticLockingFailureException if the computer was updated meanwhile
    */
+  @Transactional
   public void updateComputer(Computer computer) {
 
     LOGGER.debug("Service: update computer: {}", computer);
 
     // Validate computer
     ComputerValidator.validate(computer);
-
-    // Find computer by id
-    Computer updateComputer = computerRepository.findOne(computer.getId());
-
-    // Update computer
-    updateComputer.setName(computer.getName());
-    updateComputer.setIntroduced(computer.getIntroduced());
-    updateComputer.setDiscontinued(computer.getDiscontinued());
-    updateComputer.setCompany(computer.getCompany());
+    Company company = computer.getCompany() == null || computer.getCompany().getId() == 0 ? null
+        : computer.getCompany();
 
     // Update
-    computerRepository.saveAndFlush(updateComputer);
+    int updated = computerRepository.updateIfVersion(computer.getId(), computer.getVersion(),
+        computer.getName(), computer.getIntroduced(), computer.getDiscontinued(), company,
+        companyName(company));
+    if (updated == 0) {
+      if (!computerRepository.exists(computer.getId())) {
+        throw new ValidatorException("No computer with id: " + computer.getId());
+      }
+      throw new OptimisticLockingFailureException("Computer " + computer.getId()
+          + " was updated since version " + computer.getVersion());
+    }
+    searchIndex.computerSaved(computer);
+    countCache.invalidate();
 
   }
 
@@ -188,5 +450,39 @@ public class ComputerService {
 
     // Delete computer
     computerRepository.delete(id);
+    searchIndex.computerDeleted(id);
+    countCache.invalidate();
+  }
+
+  /**
+   * Delete computers by their ids, in one transaction and one statement per chunk of
+   * delete.batchSize ids.
+   *
+   * @param ids ids of the computers to delete
+   * @return number of computers deleted
+   * @throws ValidatorException issues with data
+   */
+  @Transactional
+  public int deleteComputers(Collection<Long> ids) {
+
+    LOGGER.debug("Service: delete computers by ids: {}", ids);
+
+    // Validate ids
+    List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+    distinctIds.forEach(ComputerValidator::checkValidId);
+
+    // Delete computers by chunks
+    int deleted = 0;
+    for (int from = 0; from < distinctIds.size(); from += deleteBatchSize) {
+      List<Long> chunk =
+          distinctIds.subList(from, Math.min(from + deleteBatchSize, distinctIds.size()));
+      deleted += computerRepository.deleteByIdIn(chunk);
+    }
+
+    distinctIds.forEach(searchIndex::computerDeleted);
+    countCache.invalidate();
+
+    LOGGER.debug("Service: {} computers deleted", deleted);
+    return deleted;
   }
 }
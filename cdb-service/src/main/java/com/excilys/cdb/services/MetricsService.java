@@ -0,0 +1,204 @@
+package com.excilys.cdb.services;
+
+import com.excilys.cdb.daos.monitoring.InstrumentedDataSource;
+import com.excilys.cdb.monitoring.LatencyHistogram;
+import com.excilys.cdb.monitoring.MetricsRegistry;
+import com.excilys.cdb.monitoring.TimedMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies of the HTTP handlers, of the service methods and of the SQL statements, for
+ * operators, as a JSON friendly map or in the Prometheus text format.
+ *
+ * <p>SQL statements are labelled in the Prometheus format by a short hash of their normalized SQL
+ * (see {@link #statementId(String)}), keeping query text out of the time series. The JSON map
+ * gives the id of each statement next to its SQL.
+ *
+ * @author Aurelien.R
+ */
+@Service
+public class MetricsService {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(MetricsService.class);
+
+  // Constants
+  private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+  private static final int STATEMENT_ID_BYTES = 6;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  @Autowired
+  @Qualifier("requestMetrics")
+  private MetricsRegistry requestMetrics;
+
+  @Autowired
+  @Qualifier("serviceMetrics")
+  private MetricsRegistry serviceMetrics;
+
+  // Absent when the datasource is not instrumented
+  @Autowired(required = false)
+  private InstrumentedDataSource instrumentedDataSource;
+
+  // Methods
+  /**
+   * Current metrics, latencies being in microseconds.
+   *
+   * @return metrics by name
+   */
+  public Map<String, Object> getMetrics() {
+
+    LOGGER.debug("Service: get metrics");
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("requests", toMap(requestMetrics, "handlers"));
+    result.put("services", toMap(serviceMetrics, "methods"));
+    if (instrumentedDataSource != null) {
+      Map<String, Object> statements = new TreeMap<>();
+      instrumentedDataSource.getStatements().forEach((sql, latencies) -> {
+        Map<String, Object> statement = new LinkedHashMap<>();
+        statement.put("id", statementId(sql));
+        statement.putAll(toMap(latencies.snapshot(), null));
+        statements.put(sql, statement);
+      });
+      result.put("statements", statements);
+    }
+    return result;
+  }
+
+  /**
+   * Current metrics in the Prometheus text exposition format, latencies being in seconds.
+   *
+   * @return the metrics
+   */
+  public String getPrometheusMetrics() {
+
+    LOGGER.debug("Service: get prometheus metrics");
+
+    StringBuilder text = new StringBuilder();
+    appendRegistry(text, requestMetrics, "cdb_http_request", "cdb_http_requests_in_flight",
+        "handler", "HTTP requests");
+    appendRegistry(text, serviceMetrics, "cdb_service_call", "cdb_service_calls_in_flight",
+        "method", "service method calls");
+    if (instrumentedDataSource != null) {
+      Map<String, LatencyHistogram> statements = new TreeMap<>();
+      instrumentedDataSource.getStatements()
+          .forEach((sql, latencies) -> statements.put(statementId(sql), latencies));
+      appendHelp(text, "cdb_sql_statement_duration_seconds", "summary",
+          "Latency of the SQL statements, by id (see the statements of the JSON metrics).");
+      statements.forEach((id, latencies) -> appendSummary(text,
+          "cdb_sql_statement_duration_seconds", "statement", id, latencies.snapshot()));
+    }
+    return text.toString();
+  }
+
+  /**
+   * Id of a statement: the first hexadecimal digits of the SHA-1 of its normalized SQL, stable
+   * across restarts and instances. Statements over the limit of the datasource keep their
+   * {@link InstrumentedDataSource#OTHER_STATEMENTS} key.
+   *
+   * @param sql normalized SQL of the statement
+   * @return the statement id
+   */
+  public static String statementId(String sql) {
+    if (InstrumentedDataSource.OTHER_STATEMENTS.equals(sql)) {
+      return sql;
+    }
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-1").digest(sql.getBytes(StandardCharsets.UTF_8));
+      char[] id = new char[STATEMENT_ID_BYTES * 2];
+      for (int i = 0; i < STATEMENT_ID_BYTES; i++) {
+        id[2 * i] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+        id[2 * i + 1] = HEX_DIGITS[digest[i] & 0xf];
+      }
+      return new String(id);
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform supports SHA-1
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Map<String, Object> toMap(MetricsRegistry registry, String keysName) {
+    Map<String, Object> metrics = new TreeMap<>();
+    registry.getMetrics().forEach((key, timed) -> metrics.put(key,
+        toMap(timed.getLatencies().snapshot(), timed.getErrorCount())));
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("inFlight", registry.getInFlight());
+    result.put(keysName, metrics);
+    return result;
+  }
+
+  private static Map<String, Object> toMap(LatencyHistogram.Snapshot snapshot, Long errors) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("count", snapshot.getCount());
+    if (errors != null) {
+      result.put("errors", errors);
+    }
+    result.put("meanUs", snapshot.getMean());
+    result.put("p50Us", snapshot.getPercentile(50));
+    result.put("p90Us", snapshot.getPercentile(90));
+    result.put("p99Us", snapshot.getPercentile(99));
+    result.put("maxUs", snapshot.getMax());
+    return result;
+  }
+
+  private static void appendRegistry(StringBuilder text, MetricsRegistry registry, String prefix,
+      String inFlightName, String label, String description) {
+
+    Map<String, TimedMetrics> metrics = new TreeMap<>(registry.getMetrics());
+
+    appendHelp(text, prefix + "_duration_seconds", "summary", "Latency of the " + description
+        + ".");
+    metrics.forEach((key, timed) -> appendSummary(text, prefix + "_duration_seconds", label, key,
+        timed.getLatencies().snapshot()));
+
+    appendHelp(text, prefix + "_errors_total", "counter", "Failed " + description + ".");
+    metrics.forEach((key, timed) -> text.append(prefix).append("_errors_total{").append(label)
+        .append("=\"").append(escape(key)).append("\"} ").append(timed.getErrorCount())
+        .append('\n'));
+
+    appendHelp(text, inFlightName, "gauge", description.substring(0, 1).toUpperCase()
+        + description.substring(1) + " in progress.");
+    text.append(inFlightName).append(' ').append(registry.getInFlight()).append('\n');
+  }
+
+  private static void appendHelp(StringBuilder text, String name, String type, String help) {
+    text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void appendSummary(StringBuilder text, String name, String label, String key,
+      LatencyHistogram.Snapshot snapshot) {
+
+    String labelValue = label + "=\"" + escape(key) + "\"";
+    for (double quantile : QUANTILES) {
+      text.append(name).append('{').append(labelValue).append(",quantile=\"").append(quantile)
+          .append("\"} ").append(toSeconds(snapshot.getPercentile(quantile * 100))).append('\n');
+    }
+    text.append(name).append("_sum{").append(labelValue).append("} ")
+        .append(toSeconds(snapshot.getSum())).append('\n');
+    text.append(name).append("_count{").append(labelValue).append("} ")
+        .append(snapshot.getCount()).append('\n');
+  }
+
+  private static double toSeconds(long micros) {
+    return micros / 1_000_000.0;
+  }
+
+  private static String escape(String labelValue) {
+    return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
@@ -0,0 +1,166 @@
+package com.excilys.cdb.services.count;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Cache of the number of computers matching a search, so the dashboard does not run a COUNT
+ * query on every page. Counts are keyed by normalized search (LIKE is case insensitive) and
+ * dropped on every write made through the services, or after count.cache.ttlSeconds for
+ * writes made by other instances.
+ *
+ * @author Aurelien.R
+ *
+ */
+@Component
+public class ComputerCountCache {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComputerCountCache.class);
+
+  // Configuration
+  @Value("${count.cache.ttlSeconds:60}")
+  private long ttlSeconds;
+  @Value("${count.cache.maxEntries:1000}")
+  private int maxEntries;
+  @Value("${count.async.enabled:false}")
+  private boolean async;
+
+  // Attributes
+  private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+  private final Map<String, Boolean> pending = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+  private final ExecutorService countExecutor = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "computer-count");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // Lifecycle
+  @PreDestroy
+  public void destroy() {
+    countExecutor.shutdownNow();
+  }
+
+  // Methods
+  /**
+   * Current generation of the cache, to read before running a count.
+   *
+   * @return the generation, changed by each invalidation
+   */
+  public long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Cached count of a search.
+   *
+   * @param search searched term
+   * @return the count, or null if unknown or expired
+   */
+  public Long get(String search) {
+    Entry entry = counts.get(normalize(search));
+    if (entry == null || entry.generation != generation.get()
+        || System.nanoTime() - entry.time > TimeUnit.SECONDS.toNanos(ttlSeconds)) {
+      return null;
+    }
+    return entry.count;
+  }
+
+  /**
+   * Store the count of a search, ignored if the cache was invalidated since the count started.
+   *
+   * @param search searched term
+   * @param count matching computers
+   * @param countGeneration generation read before counting
+   */
+  public void put(String search, long count, long countGeneration) {
+    if (countGeneration != generation.get()) {
+      return;
+    }
+    if (counts.size() >= maxEntries) {
+      counts.clear();
+    }
+    counts.put(normalize(search), new Entry(count, countGeneration));
+  }
+
+  /**
+   * Whether exact counts should be computed in background rather than in the request.
+   *
+   * @return true if counts are asynchronous
+   */
+  public boolean isAsync() {
+    return async;
+  }
+
+  /**
+   * Compute the exact count of a search in background, once at a time per search.
+   *
+   * @param search searched term
+   * @param exactCount count query
+   */
+  public void refreshAsync(String search, LongSupplier exactCount) {
+    String key = normalize(search);
+    if (pending.putIfAbsent(key, Boolean.TRUE) != null) {
+      return;
+    }
+    long countGeneration = generation.get();
+    countExecutor.execute(() -> {
+      try {
+        put(search, exactCount.getAsLong(), countGeneration);
+      } catch (RuntimeException e) {
+        LOGGER.error("Count: asynchronous count failed for {}", search, e);
+      } finally {
+        pending.remove(key);
+      }
+    });
+  }
+
+  /**
+   * Drop every cached count, now and once the current transaction, if any, is committed.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    counts.clear();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+              generation.incrementAndGet();
+              counts.clear();
+            }
+          });
+    }
+  }
+
+  private static String normalize(String search) {
+    return search == null ? "" : search.toLowerCase(Locale.ROOT);
+  }
+
+  private static class Entry {
+    private final long count;
+    private final long generation;
+    private final long time = System.nanoTime();
+
+    Entry(long count, long generation) {
+      this.count = count;
+      this.generation = generation;
+    }
+  }
+}
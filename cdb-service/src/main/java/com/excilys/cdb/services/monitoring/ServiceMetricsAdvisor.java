@@ -0,0 +1,65 @@
+package com.excilys.cdb.services.monitoring;
+
+import com.excilys.cdb.monitoring.MetricsRegistry;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Time every public method of the services into the serviceMetrics registry, under
+ * "ServiceClass.method", a method throwing counting as an error.
+ *
+ * <p>As an infrastructure bean, it is applied by the auto proxy creator of the annotation driven
+ * transactions, in the same proxy as the transaction advisor. It runs first, so the commit is
+ * part of the timing.
+ *
+ * @author Aurelien.R
+ */
+@Component
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+public class ServiceMetricsAdvisor extends StaticMethodMatcherPointcutAdvisor {
+
+  private static final long serialVersionUID = 1L;
+
+  @Autowired
+  @Qualifier("serviceMetrics")
+  private MetricsRegistry serviceMetrics;
+
+  /**
+   * Instantiates the advisor, ahead of the transaction one.
+   */
+  public ServiceMetricsAdvisor() {
+    setOrder(Ordered.HIGHEST_PRECEDENCE);
+    setAdvice((MethodInterceptor) invocation -> {
+      String key = ClassUtils.getUserClass(invocation.getThis()).getSimpleName() + "."
+          + invocation.getMethod().getName();
+      long start = serviceMetrics.start();
+      boolean error = true;
+      try {
+        Object result = invocation.proceed();
+        error = false;
+        return result;
+      } finally {
+        serviceMetrics.stop(key, start, error);
+      }
+    });
+  }
+
+  @Override
+  public boolean matches(Method method, Class<?> targetClass) {
+    return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class
+        && AnnotationUtils.findAnnotation(targetClass, Service.class) != null;
+  }
+}
@@ -0,0 +1,345 @@
+package com.excilys.cdb.services.search;
+
+import com.excilys.cdb.daos.repositories.CompanyRepository;
+import com.excilys.cdb.daos.repositories.ComputerRepository;
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * In memory trigram index over computer and company names, used instead of the
+ * "LIKE %search%" query which always ends in a full scan.
+ *
+ * <p>The index is built in background at startup and rebuilt when older than
+ * search.index.maxAgeSeconds. Writes made through the services of this instance are applied
+ * once committed. Until the index is built, or when it cannot answer a search, callers get null
+ * and fall back to the database.
+ *
+ * <p>The index assumes a single instance writes the catalog: writes made by another instance,
+ * or directly in the database, are only seen at the next rebuild, and until then searches
+ * return other rows than the LIKE query would. Disable it, or lower its age, when several
+ * instances share a database.
+ *
+ * <p>It takes about 400 bytes of heap per computer, so it is not built over
+ * search.index.maxComputers computers, and dropped when writes push the catalog over it:
+ * searches then use the database until a rebuild finds a smaller catalog.
+ *
+ * @author Aurelien.R
+ *
+ */
+@Component
+public class ComputerSearchIndex {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComputerSearchIndex.class);
+
+  // Repositories
+  @Autowired
+  private ComputerRepository computerRepository;
+  @Autowired
+  private CompanyRepository companyRepository;
+
+  // Configuration
+  @Value("${search.index.enabled:true}")
+  private boolean enabled;
+  @Value("${search.index.maxCandidates:10000}")
+  private int maxCandidates;
+  @Value("${search.index.maxAgeSeconds:300}")
+  private long maxAgeSeconds;
+  @Value("${search.index.maxComputers:1000000}")
+  private long maxComputers;
+
+  // Attributes
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+  private volatile long rebuiltAt = System.nanoTime();
+  private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "computer-search-index");
+    thread.setDaemon(true);
+    return thread;
+  });
+  // Guarded by lock
+  private Snapshot snapshot;
+  private List<Consumer<Snapshot>> pendingUpdates;
+
+  // Lifecycle
+  @PostConstruct
+  public void init() {
+    if (enabled) {
+      scheduleRebuild();
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    rebuildExecutor.shutdownNow();
+  }
+
+  // Methods
+  /**
+   * Find the ids of the computers whose name, or company name, contains the search.
+   *
+   * @param search searched term
+   * @return ids of the matching computers, or null if the index cannot answer this search
+   */
+  public Set<Long> findComputerIds(String search) {
+
+    if (!enabled || search == null || search.length() < TrigramIndex.GRAM_SIZE
+        || search.indexOf('%') >= 0 || search.indexOf('_') >= 0) {
+      return null;
+    }
+
+    lock.readLock().lock();
+    try {
+      if (snapshot == null) {
+        LOGGER.debug("Search index not built, skip it");
+        // Retry a rebuild skipped for a too large catalog, or failed
+        if (System.nanoTime() - rebuiltAt > TimeUnit.SECONDS.toNanos(maxAgeSeconds)) {
+          scheduleRebuild();
+        }
+        return null;
+      }
+      if (snapshot.isOlderThan(maxAgeSeconds)) {
+        scheduleRebuild();
+      }
+      Set<Long> ids = snapshot.search(search);
+      if (ids.size() > maxCandidates) {
+        LOGGER.debug("Search index: too many candidates for {}: {}", search, ids.size());
+        return null;
+      }
+      return ids;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Index a created or updated computer.
+   *
+   * @param computer saved computer
+   */
+  public void computerSaved(Computer computer) {
+    long id = computer.getId();
+    String name = computer.getName();
+    Long companyId = computer.getCompany() == null || computer.getCompany().getId() == 0 ? null
+        : computer.getCompany().getId();
+    update(s -> s.putComputer(id, name, companyId));
+  }
+
+  /**
+   * Remove a deleted computer from the index.
+   *
+   * @param id id of the deleted computer
+   */
+  public void computerDeleted(long id) {
+    update(s -> s.removeComputer(id));
+  }
+
+  /**
+   * Index a created or updated company.
+   *
+   * @param company saved company
+   */
+  public void companySaved(Company company) {
+    long id = company.getId();
+    String name = company.getName();
+    update(s -> s.putCompany(id, name));
+  }
+
+  /**
+   * Remove a deleted company, and its computers, from the index.
+   *
+   * @param id id of the deleted company
+   */
+  public void companyDeleted(long id) {
+    update(s -> s.removeCompany(id));
+  }
+
+  /**
+   * Apply an update to the index once the current transaction, if any, is committed.
+   */
+  private void update(Consumer<Snapshot> update) {
+
+    if (!enabled) {
+      return;
+    }
+
+    Runnable apply = () -> {
+      lock.writeLock().lock();
+      try {
+        if (snapshot != null) {
+          update.accept(snapshot);
+          if (snapshot.computerNames.size() > maxComputers) {
+            LOGGER.warn("Search index: over {} computers, dropped", maxComputers);
+            snapshot = null;
+          }
+        }
+        // Replayed on the index being rebuilt
+        if (pendingUpdates != null) {
+          pendingUpdates.add(update);
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    };
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+              apply.run();
+            }
+          });
+    } else {
+      apply.run();
+    }
+  }
+
+  private void scheduleRebuild() {
+    if (rebuilding.compareAndSet(false, true)) {
+      rebuildExecutor.execute(this::rebuild);
+    }
+  }
+
+  private void rebuild() {
+
+    LOGGER.debug("Search index: rebuild");
+    long start = System.nanoTime();
+    rebuiltAt = start;
+
+    try {
+      long computers = computerRepository.count();
+      if (computers > maxComputers) {
+        LOGGER.warn("Search index: {} computers, over search.index.maxComputers={}, searches "
+            + "use the database", computers, maxComputers);
+        lock.writeLock().lock();
+        try {
+          snapshot = null;
+        } finally {
+          lock.writeLock().unlock();
+        }
+        return;
+      }
+
+      lock.writeLock().lock();
+      try {
+        pendingUpdates = new ArrayList<>();
+      } finally {
+        lock.writeLock().unlock();
+      }
+
+      Snapshot fresh = new Snapshot();
+      for (Company company : companyRepository.findAll()) {
+        fresh.putCompany(company.getId(), company.getName());
+      }
+      for (Object[] entry : computerRepository.findAllSearchEntries()) {
+        fresh.putComputer((Long) entry[0], (String) entry[1], (Long) entry[2]);
+      }
+
+      lock.writeLock().lock();
+      try {
+        pendingUpdates.forEach(update -> update.accept(fresh));
+        snapshot = fresh;
+      } finally {
+        pendingUpdates = null;
+        lock.writeLock().unlock();
+      }
+      LOGGER.info("Search index: {} computers indexed, {} postings, in {} ms",
+          fresh.computerNames.size(), fresh.computerNames.postingsCount(),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    } catch (RuntimeException e) {
+      LOGGER.error("Search index: rebuild failed", e);
+      lock.writeLock().lock();
+      try {
+        pendingUpdates = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } finally {
+      rebuilding.set(false);
+    }
+  }
+
+  /**
+   * State of the index, swapped as a whole on rebuild.
+   */
+  private static class Snapshot {
+
+    private final long builtAt = System.nanoTime();
+    private final TrigramIndex computerNames = new TrigramIndex();
+    private final TrigramIndex companyNames = new TrigramIndex();
+    private final Map<Long, Long> companyByComputer = new HashMap<>();
+    private final Map<Long, Set<Long>> computersByCompany = new HashMap<>();
+
+    boolean isOlderThan(long seconds) {
+      return System.nanoTime() - builtAt > TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    void putComputer(long id, String name, Long companyId) {
+      removeComputer(id);
+      computerNames.put(id, name);
+      if (companyId != null) {
+        companyByComputer.put(id, companyId);
+        computersByCompany.computeIfAbsent(companyId, c -> new HashSet<>()).add(id);
+      }
+    }
+
+    void removeComputer(long id) {
+      computerNames.remove(id);
+      Long companyId = companyByComputer.remove(id);
+      if (companyId != null) {
+        Set<Long> ids = computersByCompany.get(companyId);
+        ids.remove(id);
+        if (ids.isEmpty()) {
+          computersByCompany.remove(companyId);
+        }
+      }
+    }
+
+    void putCompany(long id, String name) {
+      companyNames.put(id, name);
+    }
+
+    void removeCompany(long id) {
+      companyNames.remove(id);
+      for (Long computerId : new ArrayList<>(
+          computersByCompany.getOrDefault(id, Collections.emptySet()))) {
+        removeComputer(computerId);
+      }
+    }
+
+    Set<Long> search(String term) {
+      Set<Long> ids = new HashSet<>(computerNames.search(term));
+      for (Long companyId : companyNames.search(term)) {
+        ids.addAll(computersByCompany.getOrDefault(companyId, Collections.emptySet()));
+      }
+      return ids;
+    }
+  }
+}
@@ -0,0 +1,197 @@
+package com.excilys.cdb.services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index of the trigrams of short texts, answering case insensitive "contains" searches.
+ * Not thread safe, the owner of the index has to guard it.
+ *
+ * <p>Posting lists are sorted arrays of primitive ids rather than sets of boxed ones: an
+ * element costs 8 bytes per distinct trigram of its text, plus its normalized text. Appending
+ * increasing ids, as a rebuild reading the rows by id does, is amortized constant time.
+ *
+ * @author Aurelien.R
+ */
+public class TrigramIndex {
+
+  // Constants
+  public static final int GRAM_SIZE = 3;
+
+  // Attributes
+  private final Map<Long, String> texts = new HashMap<>();
+  private final Map<String, Postings> postings = new HashMap<>();
+
+  /**
+   * Index (or re-index) a text.
+   *
+   * @param id id of the indexed element
+   * @param text text to index, null removes the element
+   */
+  public void put(long id, String text) {
+    String normalized = text == null ? null : normalize(text);
+    if (normalized != null && normalized.equals(texts.get(id))) {
+      return;
+    }
+    remove(id);
+    if (normalized == null) {
+      return;
+    }
+    texts.put(id, normalized);
+    for (String gram : trigrams(normalized)) {
+      postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+    }
+  }
+
+  /**
+   * Remove an element from the index.
+   *
+   * @param id id of the element to remove
+   */
+  public void remove(long id) {
+    String previous = texts.remove(id);
+    if (previous == null) {
+      return;
+    }
+    for (String gram : trigrams(previous)) {
+      Postings ids = postings.get(gram);
+      if (ids != null) {
+        ids.remove(id);
+        if (ids.isEmpty()) {
+          postings.remove(gram);
+        }
+      }
+    }
+  }
+
+  /**
+   * Find the elements whose text contains the given term.
+   *
+   * @param term searched term, at least GRAM_SIZE characters long
+   * @return ids of the matching elements
+   */
+  public Set<Long> search(String term) {
+    String normalized = normalize(term);
+
+    // Collect posting lists, any missing trigram means no match
+    List<Postings> lists = new ArrayList<>();
+    for (String gram : trigrams(normalized)) {
+      Postings ids = postings.get(gram);
+      if (ids == null) {
+        return Collections.emptySet();
+      }
+      lists.add(ids);
+    }
+    if (lists.isEmpty()) {
+      return Collections.emptySet();
+    }
+
+    // Intersect starting from the rarest trigram
+    lists.sort(Comparator.comparingInt(Postings::size));
+    Postings rarest = lists.get(0);
+    Set<Long> result = new HashSet<>();
+    for (int index = 0; index < rarest.size; index++) {
+      long id = rarest.ids[index];
+      boolean inAll = true;
+      for (int i = 1; i < lists.size() && inAll; i++) {
+        inAll = lists.get(i).contains(id);
+      }
+      // Sharing all trigrams does not imply containing the term
+      if (inAll && texts.get(id).contains(normalized)) {
+        result.add(id);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Number of indexed elements.
+   *
+   * @return the size of the index
+   */
+  public int size() {
+    return texts.size();
+  }
+
+  /**
+   * Number of ids stored in the posting lists, a measure of the memory of the index.
+   *
+   * @return the number of postings
+   */
+  public long postingsCount() {
+    long count = 0;
+    for (Postings ids : postings.values()) {
+      count += ids.size;
+    }
+    return count;
+  }
+
+  static String normalize(String text) {
+    return text.toLowerCase(Locale.ROOT);
+  }
+
+  static Set<String> trigrams(String text) {
+    Set<String> grams = new HashSet<>();
+    for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+      grams.add(text.substring(i, i + GRAM_SIZE));
+    }
+    return grams;
+  }
+
+  /**
+   * Ids of the elements holding a trigram, sorted.
+   */
+  private static class Postings {
+
+    private long[] ids = new long[2];
+    private int size;
+
+    int size() {
+      return size;
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    boolean contains(long id) {
+      return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    void add(long id) {
+      int position = size == 0 || ids[size - 1] < id ? -size - 1
+          : Arrays.binarySearch(ids, 0, size, id);
+      if (position >= 0) {
+        return;
+      }
+      position = -position - 1;
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+      }
+      System.arraycopy(ids, position, ids, position + 1, size - position);
+      ids[position] = id;
+      size++;
+    }
+
+    void remove(long id) {
+      int position = Arrays.binarySearch(ids, 0, size, id);
+      if (position < 0) {
+        return;
+      }
+      System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+      size--;
+      // Give back the memory of lists which shrank a lot
+      if (size > 0 && size < ids.length / 4) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+    }
+  }
+}
@@ -1,7 +1,12 @@
 package junit.com.excilys.cdb.services;
 
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 import com.excilys.cdb.daos.repositories.CompanyRepository;
+import com.excilys.cdb.daos.repositories.ComputerRepository;
 import com.excilys.cdb.services.CompanyService;
+import com.excilys.cdb.validators.ValidatorException;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -12,9 +17,13 @@ import org.junit.runner.RunWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration("classpath:/spring/service-context-test.xml")
 public class CompanyServiceTest {
@@ -28,6 +37,9 @@ public class CompanyServiceTest {
   @Autowired
   CompanyRepository companyRepository;
 
+  @Autowired
+  ComputerRepository computerRepository;
+
   // Hook methods
   @BeforeClass
   public static void prepareTest() {
@@ -45,6 +57,34 @@ public class CompanyServiceTest {
     //LOGGER.info("---------------- END ComputerServiceTest ----------------\n");
   }
   
+  /**
+   * Delete a company whose computers span two ranges of ids.
+   */
+  @Test
+  public void deleteCompanyByRangesTest() {
+    PageRequest rangeEnd = new PageRequest(499, 1);
+    when(computerRepository.findIdsByCompanyAfter(3L, 0L, rangeEnd))
+        .thenReturn(Arrays.asList(600L));
+    when(computerRepository.findIdsByCompanyAfter(3L, 600L, rangeEnd))
+        .thenReturn(Collections.emptyList());
+    when(companyRepository.deleteById(3L)).thenReturn(1);
+
+    companyService.deleteCompany(3L);
+
+    verify(computerRepository).deleteByCompanyInRange(3L, 0L, 600L);
+    verify(computerRepository).deleteByCompanyInRange(3L, 600L, Long.MAX_VALUE);
+    verify(companyRepository).deleteById(3L);
+  }
+
+  /**
+   * Delete a company which does not exist.
+   */
+  @Test(expected = ValidatorException.class)
+  public void deleteCompanyUnknownTest() {
+    when(companyRepository.deleteById(4L)).thenReturn(0);
+    companyService.deleteCompany(4L);
+  }
+
   @Before
   public void setUp() {
     LOGGER.info("START TEST CASE");
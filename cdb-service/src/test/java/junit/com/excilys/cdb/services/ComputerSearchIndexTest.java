@@ -0,0 +1,239 @@
+package junit.com.excilys.cdb.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.excilys.cdb.daos.repositories.CompanyRepository;
+import com.excilys.cdb.daos.repositories.ComputerRepository;
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.services.search.ComputerSearchIndex;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * The Class ComputerSearchIndexTest, on mocked repositories, rebuilds being run in the test
+ * thread.
+ */
+public class ComputerSearchIndexTest {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComputerSearchIndexTest.class);
+
+  ComputerSearchIndex index;
+  ComputerRepository computerRepository;
+  CompanyRepository companyRepository;
+  List<Object[]> entries;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START ComputerSearchIndexTest ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END ComputerSearchIndexTest ----------------\n");
+  }
+
+  /**
+   * Before each test, an enabled index on two companies and three computers, not built.
+   */
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+    computerRepository = Mockito.mock(ComputerRepository.class);
+    companyRepository = Mockito.mock(CompanyRepository.class);
+    entries = new ArrayList<>();
+    entries.add(new Object[] { 1L, "MacBook Pro", 1L });
+    entries.add(new Object[] { 2L, "Macintosh Classic", 1L });
+    entries.add(new Object[] { 3L, "ThinkPad", 2L });
+    when(companyRepository.findAll())
+        .thenReturn(Arrays.asList(new Company(1L, "Apple Inc."), new Company(2L, "Lenovo")));
+    when(computerRepository.findAllSearchEntries()).thenReturn(entries);
+    when(computerRepository.count()).thenReturn((long) entries.size());
+
+    index = new ComputerSearchIndex();
+    ReflectionTestUtils.setField(index, "computerRepository", computerRepository);
+    ReflectionTestUtils.setField(index, "companyRepository", companyRepository);
+    ReflectionTestUtils.setField(index, "enabled", true);
+    ReflectionTestUtils.setField(index, "maxCandidates", 10000);
+    ReflectionTestUtils.setField(index, "maxAgeSeconds", 300L);
+    ReflectionTestUtils.setField(index, "maxComputers", 1000L);
+  }
+
+  /**
+   * After each test.
+   */
+  @After
+  public void tearDown() {
+    index.destroy();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    index = null;
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  // ***************** FALLBACK TEST *****************
+  /**
+   * Searches go to the database until the index is built.
+   */
+  @Test
+  public void notBuiltTest() {
+    assertNull(index.findComputerIds("mac"));
+  }
+
+  /**
+   * Searches go to the database when the index is disabled.
+   */
+  @Test
+  public void disabledTest() {
+    rebuild();
+    ReflectionTestUtils.setField(index, "enabled", false);
+    assertNull(index.findComputerIds("mac"));
+  }
+
+  /**
+   * Short searches and LIKE wildcards go to the database.
+   */
+  @Test
+  public void unsupportedSearchTest() {
+    rebuild();
+    assertNull(index.findComputerIds(null));
+    assertNull(index.findComputerIds("ma"));
+    assertNull(index.findComputerIds("mac%"));
+    assertNull(index.findComputerIds("mac_"));
+  }
+
+  /**
+   * Searches matching more than maxCandidates computers go to the database.
+   */
+  @Test
+  public void tooManyCandidatesTest() {
+    ReflectionTestUtils.setField(index, "maxCandidates", 1);
+    rebuild();
+    assertNull(index.findComputerIds("mac"));
+    assertEquals(ids(3L), index.findComputerIds("think"));
+  }
+
+  /**
+   * The index is not built over maxComputers computers.
+   */
+  @Test
+  public void tooManyComputersTest() {
+    when(computerRepository.count()).thenReturn(1001L);
+    rebuild();
+    assertNull(index.findComputerIds("mac"));
+  }
+
+  /**
+   * The index is dropped when created computers push it over maxComputers.
+   */
+  @Test
+  public void grownOverMaxComputersTest() {
+    ReflectionTestUtils.setField(index, "maxComputers", 3L);
+    rebuild();
+    index.computerSaved(new Computer(4L, "Amiga 500", null, null, null));
+    assertNull(index.findComputerIds("mac"));
+  }
+
+  // ***************** REBUILD TEST *****************
+  /**
+   * A rebuild indexes computer names and company names.
+   */
+  @Test
+  public void rebuildTest() {
+    rebuild();
+    assertEquals(ids(1L, 2L), index.findComputerIds("MAC"));
+    assertEquals(ids(1L, 2L), index.findComputerIds("apple"));
+    assertEquals(ids(3L), index.findComputerIds("enov"));
+    assertTrue(index.findComputerIds("amiga").isEmpty());
+  }
+
+  /**
+   * Writes committed while the index is rebuilt are replayed on the rebuilt index.
+   */
+  @Test
+  public void writesDuringRebuildTest() {
+    when(computerRepository.findAllSearchEntries()).thenAnswer(invocation -> {
+      index.computerSaved(new Computer(4L, "Amiga 500", null, null, null));
+      index.computerDeleted(1L);
+      return entries;
+    });
+    rebuild();
+    assertEquals(ids(4L), index.findComputerIds("amiga"));
+    assertEquals(ids(2L), index.findComputerIds("mac"));
+  }
+
+  // ***************** SYNC TEST *****************
+  /**
+   * Writes made outside of a transaction are applied at once.
+   */
+  @Test
+  public void syncWithoutTransactionTest() {
+    rebuild();
+    index.computerSaved(new Computer(1L, "Amiga 500", new Company(2L, null), null, null));
+    assertEquals(ids(2L), index.findComputerIds("mac"));
+    assertEquals(ids(1L), index.findComputerIds("amiga"));
+    assertEquals(ids(1L, 3L), index.findComputerIds("lenovo"));
+
+    index.companySaved(new Company(2L, "Commodore"));
+    assertEquals(ids(1L, 3L), index.findComputerIds("commodore"));
+    assertTrue(index.findComputerIds("lenovo").isEmpty());
+
+    index.companyDeleted(2L);
+    assertTrue(index.findComputerIds("amiga").isEmpty());
+    assertTrue(index.findComputerIds("think").isEmpty());
+  }
+
+  /**
+   * Writes made in a transaction are applied once it is committed, and not when rolled back.
+   */
+  @Test
+  public void syncAfterCommitTest() {
+    rebuild();
+    TransactionSynchronizationManager.initSynchronization();
+    index.computerSaved(new Computer(4L, "Amiga 500", null, null, null));
+    assertTrue(index.findComputerIds("amiga").isEmpty());
+    List<TransactionSynchronization> committed =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+
+    TransactionSynchronizationManager.initSynchronization();
+    index.computerDeleted(3L);
+    List<TransactionSynchronization> rolledBack =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+
+    committed.forEach(TransactionSynchronization::afterCommit);
+    rolledBack.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    assertEquals(ids(4L), index.findComputerIds("amiga"));
+    assertEquals(ids(3L), index.findComputerIds("think"));
+  }
+
+  private void rebuild() {
+    ReflectionTestUtils.invokeMethod(index, "rebuild");
+  }
+
+  private static HashSet<Long> ids(Long... ids) {
+    return new HashSet<>(Arrays.asList(ids));
+  }
+}
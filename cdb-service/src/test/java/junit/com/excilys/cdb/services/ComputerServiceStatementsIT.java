@@ -0,0 +1,133 @@
+package junit.com.excilys.cdb.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.excilys.cdb.models.Company;
+import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.QueryPageParameter;
+import com.excilys.cdb.monitoring.RequestStatistics;
+import com.excilys.cdb.services.CompanyService;
+import com.excilys.cdb.services.ComputerService;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL statements run by the computer service on the test database, to catch N+1 queries: the
+ * statements of a page must not grow with its size.
+ *
+ * @author Aurelien.R
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:/spring/service-context.xml")
+public class ComputerServiceStatementsIT {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComputerServiceStatementsIT.class);
+
+  // Constants
+  private static final String PREFIX = "StatementsIT-";
+  private static final int COMPUTERS = 12;
+
+  @Autowired
+  ComputerService computerService;
+
+  @Autowired
+  CompanyService companyService;
+
+  private long companyId;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START ComputerServiceStatementsIT ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END ComputerServiceStatementsIT ----------------\n");
+  }
+
+  /**
+   * Create a company and its computers.
+   */
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+    companyId = companyService.createCompany(new Company(0, PREFIX + "company"));
+    List<Computer> computers = new ArrayList<>();
+    for (int i = 0; i < COMPUTERS; i++) {
+      computers.add(new Computer(0, PREFIX + i, new Company(companyId, null), null, null));
+    }
+    computerService.createComputers(computers);
+  }
+
+  /**
+   * Delete the company and its computers.
+   */
+  @After
+  public void tearDown() {
+    companyService.deleteCompany(companyId);
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  // TESTS CASES
+  /**
+   * A page is read in one statement whatever its size, without loading entities.
+   */
+  @Test
+  public void pageStatementsTest() {
+    RequestStatistics small = statisticsOf(() -> computerService.findSliceByQuery(page(5)));
+    RequestStatistics large = statisticsOf(() -> computerService.findSliceByQuery(page(10)));
+
+    assertEquals(1, small.getStatements());
+    assertEquals(small.getStatements(), large.getStatements());
+    // One more row is read to know if there is a next slice
+    assertEquals(6, small.getRows());
+    assertEquals(11, large.getRows());
+    assertEquals(0, large.getEntityLoads());
+  }
+
+  /**
+   * A computer is loaded with its company, in at most one statement each.
+   */
+  @Test
+  public void findByIdStatementsTest() {
+    ComputerView first = computerService.findSliceByQuery(page(1)).getContent().get(0);
+
+    RequestStatistics statistics = statisticsOf(() -> computerService.findById(first.getId()));
+
+    assertTrue(statistics.toString(), statistics.getStatements() <= 2);
+    assertTrue(statistics.toString(), statistics.getEntityLoads() <= 2);
+  }
+
+  private static QueryPageParameter page(int size) {
+    return new QueryPageParameter(0, size, Direction.ASC, "name", PREFIX);
+  }
+
+  private static RequestStatistics statisticsOf(Runnable call) {
+    RequestStatistics statistics = RequestStatistics.start();
+    try {
+      call.run();
+    } finally {
+      RequestStatistics.stop();
+    }
+    LOGGER.info("Request statistics: {}", statistics);
+    return statistics;
+  }
+}
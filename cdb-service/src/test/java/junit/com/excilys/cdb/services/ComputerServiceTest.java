@@ -1,16 +1,22 @@
 package junit.com.excilys.cdb.services;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.when;
 
 import com.excilys.cdb.daos.repositories.ComputerRepository;
 import com.excilys.cdb.models.Company;
 import com.excilys.cdb.models.Computer;
+import com.excilys.cdb.models.ComputerView;
+import com.excilys.cdb.models.KeysetCursor;
+import com.excilys.cdb.models.LowerBoundPage;
 import com.excilys.cdb.models.OrderBy;
 import com.excilys.cdb.models.QueryPageParameter;
 import com.excilys.cdb.services.ComputerService;
+import com.excilys.cdb.services.count.ComputerCountCache;
 import com.excilys.cdb.validators.ValidatorException;
 
 import org.easymock.EasyMock;
@@ -25,17 +31,21 @@ import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -55,8 +65,12 @@ public class ComputerServiceTest {
   @Autowired
   ComputerRepository computerRepository;
 
+  @Autowired
+  ComputerCountCache countCache;
+
   /** The computers. */
   List<Computer> computers;
+  List<ComputerView> computerViews;
   QueryPageParameter qp;
   Computer computer;
 
@@ -79,6 +93,7 @@ public class ComputerServiceTest {
     LOGGER.info("START TEST CASE");
     MockitoAnnotations.initMocks(this);
     computers = new ArrayList<Computer>();
+    computerViews = new ArrayList<ComputerView>();
     qp = Mockito.mock(QueryPageParameter.class);
     computer = Mockito.mock(Computer.class);
   }
@@ -89,6 +104,7 @@ public class ComputerServiceTest {
   @After
   public void tearDown() {
     computers = null;
+    computerViews = null;
     qp = null;
     computer = null;
     LOGGER.info("END TEST CASE\n\n");
@@ -177,6 +193,46 @@ public class ComputerServiceTest {
     }
   }
 
+  /**
+   * Delete several computers, duplicates removed.
+   */
+  @Test
+  public void deleteComputersValidTest() {
+    when(computerRepository.deleteByIdIn(Arrays.asList(3L, 4L, 5L))).thenReturn(3);
+    int deleted = computerService.deleteComputers(Arrays.asList(3L, 4L, 3L, 5L));
+    assertEquals(3, deleted);
+  }
+
+  /**
+   * Delete several computers with a negative id.
+   */
+  @Test(expected = ValidatorException.class)
+  public void deleteComputersNegativeIdTest() {
+    computerService.deleteComputers(Arrays.asList(3L, -4L));
+  }
+
+  /**
+   * Create several computers, one of them without name.
+   */
+  @Test(expected = ValidatorException.class)
+  public void createComputersInvalidTest() {
+    computerService.createComputers(
+        Arrays.asList(new Computer(0, "Imported", null, null, null), new Computer()));
+  }
+
+  /**
+   * Update a computer changed since it was read.
+   */
+  @Test(expected = OptimisticLockingFailureException.class)
+  public void updateComputerConflictTest() {
+    Computer outdated = new Computer(7L, "Outdated", null, null, null);
+    outdated.setVersion(2L);
+    when(computerRepository.updateIfVersion(7L, 2L, "Outdated", null, null, null, null))
+        .thenReturn(0);
+    when(computerRepository.exists(7L)).thenReturn(true);
+    computerService.updateComputer(outdated);
+  }
+
   // ***************** FINDBYQUERYPARAMETER TEST *****************
   /**
    * Find by qp invalid page index test.
@@ -243,11 +299,120 @@ public class ComputerServiceTest {
     when(qp.getSearch()).thenReturn(testedSearch);
 
     when(computerRepository.findByNameOrCompanyName(qp.getSearch(), qp.getPageable()))
-        .thenReturn(new PageImpl<Computer>(computers, pageable, 50));
-    Page<Computer> results = computerService.findByQuery(qp);
+        .thenReturn(computerViews);
+    Page<ComputerView> results = computerService.findByQuery(qp);
     assertNotNull(results);
   }
 
+  /**
+   * A partial page gives the count without running the count query.
+   */
+  @Test
+  public void findByQpPartialPageCountTest() {
+    String testedSearch = "partialPage";
+    Pageable pageable = new PageRequest(0, 30);
+    computerViews.add(new ComputerView(1L, "MacBook", null, null, null, null));
+    computerViews.add(new ComputerView(2L, "MacBook Pro", null, null, 1L, "Apple"));
+
+    when(qp.getPageable()).thenReturn(pageable);
+    when(qp.getSearch()).thenReturn(testedSearch);
+    when(computerRepository.findByNameOrCompanyName(testedSearch, pageable))
+        .thenReturn(computerViews);
+    when(computerRepository.countByNameOrCompanyName(testedSearch)).thenReturn(50L);
+
+    Page<ComputerView> results = computerService.findByQuery(qp);
+    assertEquals(2L, results.getTotalElements());
+    assertEquals(1, results.getTotalPages());
+  }
+
+  /**
+   * A full page gives the exact count of the count query.
+   */
+  @Test
+  public void findByQpFullPageCountTest() {
+    String testedSearch = "fullPage";
+    Pageable pageable = new PageRequest(1, 2);
+    computerViews.add(new ComputerView(3L, "MacBook", null, null, null, null));
+    computerViews.add(new ComputerView(4L, "MacBook Pro", null, null, 1L, "Apple"));
+
+    when(qp.getPageable()).thenReturn(pageable);
+    when(qp.getSearch()).thenReturn(testedSearch);
+    when(computerRepository.findByNameOrCompanyName(testedSearch, pageable))
+        .thenReturn(computerViews);
+    when(computerRepository.countByNameOrCompanyName(testedSearch)).thenReturn(50L);
+
+    Page<ComputerView> results = computerService.findByQuery(qp);
+    assertFalse(results instanceof LowerBoundPage);
+    assertEquals(50L, results.getTotalElements());
+    assertEquals(25, results.getTotalPages());
+  }
+
+  /**
+   * With asynchronous counts, a full page with no cached count is a lower bound page.
+   */
+  @Test
+  public void findByQpAsyncCountTest() {
+    String testedSearch = "asyncCount";
+    Pageable pageable = new PageRequest(1, 2);
+    computerViews.add(new ComputerView(3L, "MacBook", null, null, null, null));
+    computerViews.add(new ComputerView(4L, "MacBook Pro", null, null, 1L, "Apple"));
+
+    when(qp.getPageable()).thenReturn(pageable);
+    when(qp.getSearch()).thenReturn(testedSearch);
+    when(computerRepository.findByNameOrCompanyName(testedSearch, pageable))
+        .thenReturn(computerViews);
+    when(computerRepository.countByNameOrCompanyName(testedSearch)).thenReturn(50L);
+
+    ReflectionTestUtils.setField(countCache, "async", true);
+    try {
+      Page<ComputerView> results = computerService.findByQuery(qp);
+      assertTrue(results instanceof LowerBoundPage);
+      assertEquals(5L, results.getTotalElements());
+      assertTrue(results.hasNext());
+    } finally {
+      ReflectionTestUtils.setField(countCache, "async", false);
+    }
+  }
+
+  /**
+   * Find a slice by valid qp test.
+   */
+  @Test
+  public void findSliceByQpValidTest() {
+    String testedSearch = "Mac";
+    Pageable pageable = new PageRequest(0, 30);
+
+    when(qp.getPageable()).thenReturn(pageable);
+    when(qp.getSearch()).thenReturn(testedSearch);
+    when(computerRepository.findSliceByNameOrCompanyName(testedSearch, pageable))
+        .thenReturn(new SliceImpl<ComputerView>(computerViews, pageable, true));
+
+    Slice<ComputerView> results = computerService.findSliceByQuery(qp);
+    assertTrue(results.hasNext());
+  }
+
+  /**
+   * Find by keyset going backward: extra computer dropped, walk order reversed.
+   */
+  @Test
+  public void findByKeysetBackwardTest() {
+    KeysetCursor cursor = new KeysetCursor(OrderBy.id, Direction.ASC, true, 10L, 10L);
+    QueryPageParameter keysetQp =
+        new QueryPageParameter(2, Direction.ASC, OrderBy.id.toString(), "keyset", cursor);
+    computerViews.add(new ComputerView(9L, "Mac 9", null, null, null, null));
+    computerViews.add(new ComputerView(8L, "Mac 8", null, null, null, null));
+    computerViews.add(new ComputerView(7L, "Mac 7", null, null, null, null));
+
+    when(computerRepository.findByKeyset("keyset", null, OrderBy.id, Direction.ASC, cursor, 3))
+        .thenReturn(computerViews);
+
+    Slice<ComputerView> results = computerService.findByKeyset(keysetQp);
+    assertTrue(results.hasNext());
+    assertEquals(2, results.getNumberOfElements());
+    assertEquals(8L, results.getContent().get(0).getId());
+    assertEquals(9L, results.getContent().get(1).getId());
+  }
+
   // ***************** COUNT TEST *****************
   /**
    * Count invalid search field.
@@ -277,6 +442,24 @@ public class ComputerServiceTest {
     assertEquals(count,result);
   }
 
+  /**
+   * Count is cached until a computer is written.
+   */
+  @Test
+  public void countCachedUntilWriteTest() {
+    String testedSearch = "cachedCount";
+    when(qp.getSearch()).thenReturn(testedSearch);
+
+    when(computerRepository.countByNameOrCompanyName(testedSearch)).thenReturn(2L);
+    assertEquals(2L, computerService.count(qp));
+
+    when(computerRepository.countByNameOrCompanyName(testedSearch)).thenReturn(3L);
+    assertEquals(2L, computerService.count(qp));
+
+    computerService.deleteComputer(52L);
+    assertEquals(3L, computerService.count(qp));
+  }
+
   // ***************** CREATE COMPUTER TEST *****************
   /**
    * Create a valid computer.
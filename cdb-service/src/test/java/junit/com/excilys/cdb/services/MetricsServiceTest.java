@@ -0,0 +1,128 @@
+package junit.com.excilys.cdb.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.excilys.cdb.daos.monitoring.InstrumentedDataSource;
+import com.excilys.cdb.daos.repositories.CompanyRepository;
+import com.excilys.cdb.monitoring.MetricsRegistry;
+import com.excilys.cdb.monitoring.TimedMetrics;
+import com.excilys.cdb.services.CompanyService;
+import com.excilys.cdb.services.MetricsService;
+import com.excilys.cdb.validators.ValidatorException;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+/**
+ * Service methods timed by the service metrics advisor.
+ *
+ * @author Aurelien.R
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:/spring/service-context-test.xml")
+public class MetricsServiceTest {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(MetricsServiceTest.class);
+
+  @Autowired
+  CompanyService companyService;
+
+  @Autowired
+  CompanyRepository companyRepository;
+
+  @Autowired
+  MetricsService metricsService;
+
+  @Autowired
+  @Qualifier("serviceMetrics")
+  MetricsRegistry serviceMetrics;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START MetricsServiceTest ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END MetricsServiceTest ----------------\n");
+  }
+
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+  }
+
+  @After
+  public void tearDown() {
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  // TESTS CASES
+  /**
+   * Calls are counted per service method, the context being shared with the other tests.
+   */
+  @Test
+  public void serviceCallTimedTest() {
+    long calls = countOf("CompanyService.findAll");
+
+    companyService.findAll();
+    companyService.findAll();
+
+    assertEquals(calls + 2, countOf("CompanyService.findAll"));
+    assertEquals(0, serviceMetrics.getInFlight());
+  }
+
+  /**
+   * A method throwing counts as an error, and is exposed in the Prometheus format.
+   */
+  @Test
+  public void serviceErrorCountedTest() {
+    when(companyRepository.deleteById(5L)).thenReturn(0);
+    TimedMetrics before = serviceMetrics.getMetrics().get("CompanyService.deleteCompany");
+    long errors = before == null ? 0 : before.getErrorCount();
+
+    try {
+      companyService.deleteCompany(5L);
+    } catch (ValidatorException e) {
+      LOGGER.info("Expected failure: {}", e.getMessage());
+    }
+
+    assertEquals(errors + 1,
+        serviceMetrics.getMetrics().get("CompanyService.deleteCompany").getErrorCount());
+    assertTrue(metricsService.getPrometheusMetrics().contains(
+        "cdb_service_call_errors_total{method=\"CompanyService.deleteCompany\"} " + (errors + 1)));
+  }
+
+  /**
+   * Statement ids are short, stable and distinct hashes of the SQL.
+   */
+  @Test
+  public void statementIdTest() {
+    String id = MetricsService.statementId("SELECT name FROM computer WHERE id IN (?...)");
+    assertTrue(id, id.matches("[0-9a-f]{12}"));
+    assertEquals(id, MetricsService.statementId("SELECT name FROM computer WHERE id IN (?...)"));
+    assertNotEquals(id, MetricsService.statementId("SELECT name FROM company WHERE id IN (?...)"));
+    assertEquals(InstrumentedDataSource.OTHER_STATEMENTS,
+        MetricsService.statementId(InstrumentedDataSource.OTHER_STATEMENTS));
+  }
+
+  private long countOf(String key) {
+    TimedMetrics metrics = serviceMetrics.getMetrics().get(key);
+    return metrics == null ? 0 : metrics.getLatencies().snapshot().getCount();
+  }
+}
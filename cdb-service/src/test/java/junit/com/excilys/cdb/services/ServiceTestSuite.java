@@ -9,7 +9,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @RunWith(Suite.class)
-@SuiteClasses({ CompanyServiceTest.class, ComputerServiceTest.class })
+@SuiteClasses({ CompanyServiceTest.class, ComputerServiceTest.class, TrigramIndexTest.class,
+    ComputerSearchIndexTest.class, MetricsServiceTest.class })
 public class ServiceTestSuite {
 
   // private static DbUnitManager dbUnit;
@@ -0,0 +1,106 @@
+package junit.com.excilys.cdb.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.excilys.cdb.services.search.TrigramIndex;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * The Class TrigramIndexTest.
+ */
+public class TrigramIndexTest {
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(TrigramIndexTest.class);
+
+  TrigramIndex index;
+
+  // Hook methods
+  @BeforeClass
+  public static void prepareTest() {
+    LOGGER.info("---------------- START TrigramIndexTest ----------------\n");
+  }
+
+  @AfterClass
+  public static void endTest() {
+    LOGGER.info("---------------- END TrigramIndexTest ----------------\n");
+  }
+
+  /**
+   * Before each test.
+   */
+  @Before
+  public void setUp() {
+    LOGGER.info("START TEST CASE");
+    index = new TrigramIndex();
+    index.put(1L, "MacBook Pro");
+    index.put(2L, "Macintosh Classic");
+    index.put(3L, "Commodore 64");
+    index.put(4L, null);
+  }
+
+  /**
+   * After each test.
+   */
+  @After
+  public void tearDown() {
+    index = null;
+    LOGGER.info("END TEST CASE\n\n");
+  }
+
+  /**
+   * Search is case insensitive.
+   */
+  @Test
+  public void searchIgnoreCaseTest() {
+    assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), index.search("mAC"));
+  }
+
+  /**
+   * Search matches in the middle of the text.
+   */
+  @Test
+  public void searchContainsTest() {
+    assertEquals(new HashSet<>(Arrays.asList(3L)), index.search("dore 6"));
+  }
+
+  /**
+   * Sharing all the trigrams of the term is not enough to match.
+   */
+  @Test
+  public void searchFalsePositiveTest() {
+    index.put(5L, "abcd bcde");
+    assertTrue(index.search("abcde").isEmpty());
+  }
+
+  /**
+   * Re-indexing replaces the previous text.
+   */
+  @Test
+  public void putReplaceTest() {
+    index.put(1L, "ThinkPad");
+    assertEquals(new HashSet<>(Arrays.asList(2L)), index.search("mac"));
+    assertEquals(new HashSet<>(Arrays.asList(1L)), index.search("think"));
+  }
+
+  /**
+   * Removed elements are not found anymore.
+   */
+  @Test
+  public void removeTest() {
+    index.remove(2L);
+    assertEquals(new HashSet<>(Arrays.asList(1L)), index.search("mac"));
+    assertEquals(2, index.size());
+  }
+}
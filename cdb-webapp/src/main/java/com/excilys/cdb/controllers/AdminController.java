@@ -0,0 +1,44 @@
+package com.excilys.cdb.controllers;
+
+import com.excilys.cdb.services.MetricsService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+
+/**
+ * Operator endpoints, restricted to admins.
+ *
+ * @author Aurelien.R
+ */
+@Controller
+@RequestMapping("/admin")
+public class AdminController {
+
+  @Autowired
+  MetricsService metricsService;
+
+  // Logger
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdminController.class);
+
+  @RequestMapping(value = "/metrics", method = RequestMethod.GET)
+  @ResponseBody
+  public Map<String, Object> getMetrics() {
+    LOGGER.info("AdminController: GET /admin/metrics");
+    return metricsService.getMetrics();
+  }
+
+  @RequestMapping(value = "/metrics/prometheus", method = RequestMethod.GET,
+      produces = "text/plain; version=0.0.4; charset=utf-8")
+  @ResponseBody
+  public String getPrometheusMetrics() {
+    LOGGER.info("AdminController: GET /admin/metrics/prometheus");
+    return metricsService.getPrometheusMetrics();
+  }
+}
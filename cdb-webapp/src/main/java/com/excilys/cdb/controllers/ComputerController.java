@@ -12,6 +12,7 @@ import com.excilys.cdb.services.ComputerDtoService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -171,8 +172,19 @@ public class ComputerController {
       return "editComputer";
     }
 
-    // Edit computer
-    computerDtoService.updateComputer(computerDto);
+    // Edit computer, unless it was edited meanwhile
+    try {
+      computerDtoService.updateComputer(computerDto);
+    } catch (OptimisticLockingFailureException e) {
+
+      LOGGER.warn("ComputerController: Conflict on editing computer {}", computerDto.getId());
+
+      // Back to edit page with current values
+      model.addAttribute("computer", computerDtoService.findById(computerDto.getId()));
+      model.addAttribute("companies", companyDtoService.findAll());
+      model.addAttribute("conflict", true);
+      return "editComputer";
+    }
 
     // Redirect to dashboard
     return "redirect:/computers";
@@ -218,23 +230,16 @@ public class ComputerController {
   /**
    * Delete computers based on the ids POSTed.
    *
-   * @param idsStr ids splited by comma
-   * @param result the result
+   * @param ids ids of the selected computers, POSTed splited by comma
    * @return name of the view to display
    */
   @RequestMapping(value = "/delete", method = RequestMethod.POST)
-  public String deleteComputer(@ModelAttribute("selection") String idsStr, BindingResult result) {
-
-    LOGGER.info("ComputerController: POST /computers/delete parameters:\n\tIds: {}", idsStr);
+  public String deleteComputer(@RequestParam("selection") List<Long> ids) {
 
-    // Retrieve parameters
-    String[] ids = idsStr.split(",");
+    LOGGER.info("ComputerController: POST /computers/delete parameters:\n\tIds: {}", ids);
 
-    // Delete each computer by id
-    for (String idStr : ids) {
-      long id = Long.parseLong(idStr);
-      computerDtoService.deleteComputer(id);
-    }
+    // Delete all selected computers at once
+    computerDtoService.deleteComputers(ids);
 
     return "redirect:/computers";
   }
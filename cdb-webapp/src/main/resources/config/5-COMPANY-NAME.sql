@@ -0,0 +1,11 @@
+  use `computer-database-db`;
+
+  -- Company name copied on computers, set by the application on each insert and update, so
+  -- that the company ordering reads an index of the computer table instead of sorting the join.
+  -- Computers are deleted with their company, there is nothing to clear.
+  alter table computer add column company_name varchar(255) default NULL;
+
+  update computer set company_name = (select name from company where company.id = computer.company_id)
+    where company_id is not null;
+
+  create index ix_computer_company_name_id on computer (company_name, id);
@@ -24,7 +24,8 @@
 	<section id="main">
 		<!-- ***************************** SEARCH AREA ***************************** -->
 		<div class="container">
-			<h1 id="homeTitle">${page.matchingRowCount}
+			<%-- A count still computed in background is a minimum --%>
+			<h1 id="homeTitle">${page.matchingRowCount}${page.countExact ? '' : '+'}
 				<spring:message code="msg.computersFound" />
 			</h1>
 			<div id="actions" class="form-horizontal">
@@ -147,7 +148,8 @@
 
 			<!-- ***************************** PAGINATION ***************************** -->
 			<myLib:pagination target="./computers" currPage="${page.current}"
-				totalPages="${page.pageCount}" pageSize="${page.pageSize}"
+				totalPages="${page.pageCount}" more="${!page.countExact}"
+				pageSize="${page.pageSize}"
 				orderBy="${page.orderBy}" order="${page.order}"
 				search="${page.search}" />
 
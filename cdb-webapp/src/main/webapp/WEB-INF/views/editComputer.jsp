@@ -37,9 +37,16 @@
 						<spring:message code="msg.editComputer" />
 					</h1>
 
+					<c:if test="${conflict}">
+						<div class="alert alert-danger">
+							<spring:message code="msg.editConflict" />
+						</div>
+					</c:if>
 					<form:form id="addForm" action="./edit" method="POST"
 						modelAttribute="computer">
 						<form:input type="hidden" id="id" path="id" value="${computer.id}" />
+						<form:input type="hidden" id="version" path="version"
+							value="${computer.version}" />
 						<fieldset>
 							<div class="form-group">
 								<label for="computerName">${labelComputerName}</label>
@@ -593,6 +593,8 @@ insert into computer (id,name,introduced,discontinued,company_id) values (572,'D
 insert into computer (id,name,introduced,discontinued,company_id) values (573,'Gateway LT3103U','2008-01-01',null,null);
 insert into computer (id,name,introduced,discontinued,company_id) values (574,'iPhone 4S','2011-10-14',null,1);
 
+insert into hibernate_sequences (sequence_name,next_val) select 'computer', coalesce(max(id),0) + 1 from computer;
+
 insert into user_role (id,name) values ( 1,'ROLE_ADMIN');
 insert into user_role (id,name) values ( 2,'ROLE_USER');
 
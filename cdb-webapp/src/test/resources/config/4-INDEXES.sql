@@ -0,0 +1,12 @@
+  use `computer-database-db_TEST`;
+
+  -- Sorting indexes: one per dashboard ordering, the id as tie-breaker, so that a page is read
+  -- in index order and the LIMIT stops early instead of sorting the whole table.
+  -- Descending orders walk the same indexes backward.
+  create index ix_computer_name_id on computer (name, id);
+  create index ix_computer_introduced_id on computer (introduced, id);
+  create index ix_computer_discontinued_id on computer (discontinued, id);
+
+  -- The company ordering is on company_id, it replaces the foreign key index
+  create index ix_computer_company_id on computer (company_id, id);
+  drop index ix_computer_company_1 on computer;